@@ -0,0 +1,30 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.entity.UuidV7Generator;
+
+import java.time.Instant;
+
+// Representative payloads shared by the benchmarks
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static FeedbackRequest request() {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId("m-101");
+        request.setProviderName("Dr. Awesome");
+        request.setRating(5);
+        request.setComment("Excellent service, very satisfied!!");
+        return request;
+    }
+
+    static Feedback savedFeedback() {
+        Feedback feedback = request().toEntity();
+        feedback.setId(UuidV7Generator.next());
+        feedback.setSubmittedAt(Instant.now());
+        return feedback;
+    }
+}
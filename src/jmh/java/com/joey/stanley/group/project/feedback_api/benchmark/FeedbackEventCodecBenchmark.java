@@ -0,0 +1,63 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.messaging.FeedbackEventDeserializer;
+import com.joey.stanley.group.project.feedback_api.messaging.FeedbackEventFormat;
+import com.joey.stanley.group.project.feedback_api.messaging.FeedbackEventSerializer;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// JSON vs binary record values for feedback-submitted, through the same serializer/deserializer the producer uses.
+// Encoded sizes are asserted in FeedbackEventSerializerTest and printed once per fork here.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackEventCodecBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    public FeedbackEventFormat format;
+
+    private FeedbackEventSerializer serializer;
+    private FeedbackEventDeserializer deserializer;
+    private FeedbackSubmittedEvent event;
+    private RecordHeaders headers;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        serializer = new FeedbackEventSerializer(format);
+        serializer.configure(Map.of(), false);
+        deserializer = new FeedbackEventDeserializer();
+        event = FeedbackSubmittedEvent.fromEntityToEvent(BenchmarkData.savedFeedback());
+        headers = new RecordHeaders();
+        payload = serializer.serialize("feedback-submitted", headers, event);
+        System.out.println(format + " payload: " + payload.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize("feedback-submitted", new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public FeedbackSubmittedEvent deserialize() {
+        return deserializer.deserialize("feedback-submitted", headers, payload);
+    }
+}
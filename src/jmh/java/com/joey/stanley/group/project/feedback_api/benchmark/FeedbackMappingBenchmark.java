@@ -0,0 +1,90 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// DTO <-> entity mapping and the Jackson work done on every create/read
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackMappingBenchmark {
+
+    private FeedbackRequest request;
+    private Feedback saved;
+    private FeedbackResponse response;
+    private FeedbackSubmittedEvent event;
+    private byte[] requestJson;
+    // Same defaults Spring MVC's converter uses (ISO dates, java.time module)
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = BenchmarkData.request();
+        saved = BenchmarkData.savedFeedback();
+        response = FeedbackResponse.from(saved);
+        event = FeedbackSubmittedEvent.fromEntityToEvent(saved);
+        requestJson = objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public Feedback requestToEntity() {
+        return request.toEntity();
+    }
+
+    @Benchmark
+    public FeedbackResponse entityToResponse() {
+        return FeedbackResponse.from(saved);
+    }
+
+    @Benchmark
+    public FeedbackSubmittedEvent entityToEvent() {
+        return FeedbackSubmittedEvent.fromEntityToEvent(saved);
+    }
+
+    @Benchmark
+    public FeedbackRequest deserializeRequest() throws Exception {
+        return objectMapper.readValue(requestJson, FeedbackRequest.class);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeEvent() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    // Everything createFeedback does to a payload apart from the database itself
+    @Benchmark
+    public byte[] createPathRoundTrip() throws Exception {
+        FeedbackRequest parsed = objectMapper.readValue(requestJson, FeedbackRequest.class);
+        Feedback entity = parsed.toEntity();
+        entity.setId(saved.getId());
+        entity.setSubmittedAt(saved.getSubmittedAt());
+        objectMapper.writeValueAsBytes(FeedbackSubmittedEvent.fromEntityToEvent(entity));
+        return objectMapper.writeValueAsBytes(FeedbackResponse.from(entity));
+    }
+}
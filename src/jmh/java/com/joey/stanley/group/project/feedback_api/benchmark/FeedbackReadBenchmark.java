@@ -0,0 +1,124 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.repository.FeedbackRepository;
+import com.joey.stanley.group.project.feedback_api.repository.FeedbackSpecifications;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One page of the filtered query, loaded as managed entities and copied into responses (the old read path, in a
+// read-only and in a read-write transaction) against the constructor projection the service uses now.
+// Runs on in-memory H2 so it needs no external database; scores are per row. Add -prof gc for gc.alloc.rate.norm.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FeedbackReadBenchmark {
+
+    private static final int ROWS = 100;
+
+    private static final Specification<Feedback> PROVIDER =
+            FeedbackSpecifications.providerNameIs(BenchmarkData.request().getProviderName());
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Feedback.class)
+    @EnableJpaRepositories(basePackageClasses = FeedbackRepository.class)
+    static class RepositoryOnly {
+    }
+
+    private ConfigurableApplicationContext context;
+    private FeedbackRepository feedbackRepository;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(RepositoryOnly.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        // Skip application.properties; it points at the real Postgres and Kafka
+                        "spring.config.name=jmh-read-benchmark",
+                        "spring.datasource.url=jdbc:h2:mem:feedback-read;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        // The migrations are Postgres-only (tsvector, GIN); H2 gets its schema from the entities
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .run();
+        feedbackRepository = context.getBean(FeedbackRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        List<Feedback> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(BenchmarkData.request().toEntity());
+        }
+        feedbackRepository.saveAll(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    private List<FeedbackResponse> loadEntities() {
+        List<Feedback> rows = feedbackRepository.findBy(PROVIDER,
+                query -> query.sortBy(FeedbackSpecifications.NEWEST_FIRST).limit(ROWS).all());
+        List<FeedbackResponse> responses = new ArrayList<>(rows.size());
+        for (Feedback row : rows) {
+            responses.add(FeedbackResponse.from(row));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<FeedbackResponse> entityReadWrite() {
+        return readWrite.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<FeedbackResponse> entityReadOnly() {
+        return readOnly.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<FeedbackResponse> projection() {
+        return readOnly.execute(status -> feedbackRepository.findResponses(PROVIDER, FeedbackSpecifications.NEWEST_FIRST, ROWS));
+    }
+}
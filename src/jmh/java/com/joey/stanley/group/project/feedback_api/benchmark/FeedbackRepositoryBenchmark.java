@@ -0,0 +1,111 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.repository.FeedbackRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One saveAndFlush (and transaction) per row, as createFeedback does, against a single batched saveAll.
+// Runs on in-memory H2 so it needs no external database; scores are per row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FeedbackRepositoryBenchmark {
+
+    private static final int ROWS = 100;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Feedback.class)
+    @EnableJpaRepositories(basePackageClasses = FeedbackRepository.class)
+    static class RepositoryOnly {
+    }
+
+    // 1 turns Hibernate JDBC batching off, 100 matches application.properties
+    @Param({"1", "100"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private FeedbackRepository feedbackRepository;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(RepositoryOnly.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        // Skip application.properties; it points at the real Postgres and Kafka
+                        "spring.config.name=jmh-repository-benchmark",
+                        "spring.datasource.url=jdbc:h2:mem:feedback;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        // The migrations are Postgres-only (tsvector, GIN); H2 gets its schema from the entities
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .run();
+        feedbackRepository = context.getBean(FeedbackRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        feedbackRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    private static List<Feedback> rows() {
+        List<Feedback> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(BenchmarkData.request().toEntity());
+        }
+        return rows;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Feedback> saveAndFlushEach() {
+        List<Feedback> rows = rows();
+        List<Feedback> saved = new ArrayList<>(ROWS);
+        for (Feedback row : rows) {
+            saved.add(feedbackRepository.saveAndFlush(row));
+        }
+        return saved;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Feedback> saveAllBatched() {
+        return feedbackRepository.saveAll(rows());
+    }
+}
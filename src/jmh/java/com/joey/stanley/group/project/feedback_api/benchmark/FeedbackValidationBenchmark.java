@@ -0,0 +1,115 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError;
+import com.joey.stanley.group.project.feedback_api.services.FeedbackRequestValidator;
+import com.joey.stanley.group.project.feedback_api.services.ValidationException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The field checks createFeedback runs before touching the database, for an accepted and a rejected request.
+// Rejections are compared with the previous approach, which threw on the first failing field and captured a stack trace.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackValidationBenchmark {
+
+    // Extra frames below the check; a request served by Tomcat and Spring MVC is roughly 100 deep by then
+    @Param({"0", "100"})
+    public int stackDepth;
+
+    private final FeedbackRequestValidator validator = new FeedbackRequestValidator();
+
+    private FeedbackRequest validRequest;
+    private FeedbackRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validRequest = BenchmarkData.request();
+        invalidRequest = BenchmarkData.request();
+        invalidRequest.setRating(0);
+        invalidRequest.setComment("x".repeat(201));
+    }
+
+    @Benchmark
+    public FeedbackRequest validRequest() throws ValidationException {
+        List<FieldValidationError> errors = atDepth(stackDepth, validRequest);
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        return validRequest;
+    }
+
+    @Benchmark
+    public Object rejectedRequest() {
+        try {
+            List<FieldValidationError> errors = atDepth(stackDepth, invalidRequest);
+            if (!errors.isEmpty()) {
+                throw new ValidationException(errors);
+            }
+            return invalidRequest;
+        } catch (ValidationException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object rejectedRequestFirstErrorWithStackTrace() {
+        try {
+            legacyAtDepth(stackDepth, invalidRequest);
+            return invalidRequest;
+        } catch (LegacyValidationException ex) {
+            return ex;
+        }
+    }
+
+    private List<FieldValidationError> atDepth(int depth, FeedbackRequest request) {
+        return depth == 0 ? validator.validate(request) : atDepth(depth - 1, request);
+    }
+
+    private static void legacyAtDepth(int depth, FeedbackRequest request) throws LegacyValidationException {
+        if (depth == 0) {
+            legacyValidate(request);
+        } else {
+            legacyAtDepth(depth - 1, request);
+        }
+    }
+
+    // The checks as FeedbackService.validate ran them before the aggregated validator
+    private static void legacyValidate(FeedbackRequest request) throws LegacyValidationException {
+        if (request.getMemberId() == null || request.getMemberId().length() > 36) {
+            throw new LegacyValidationException("Field 'memberId' must be ≤ 36 characters or not null");
+        }
+        if (request.getProviderName() == null || request.getProviderName().length() > 80) {
+            throw new LegacyValidationException("Field 'providerName' must be ≤ 80 characters or not null");
+        }
+        if (request.getRating() < 1 || request.getRating() > 5) {
+            throw new LegacyValidationException("Field 'rating' must be an integer between 1 and 5");
+        }
+        if (request.getComment() != null && request.getComment().length() > 200) {
+            throw new LegacyValidationException("Field 'comment' must be ≤ 200 characters");
+        }
+    }
+
+    private static final class LegacyValidationException extends Exception {
+        LegacyValidationException(String message) {
+            super(message);
+        }
+    }
+}
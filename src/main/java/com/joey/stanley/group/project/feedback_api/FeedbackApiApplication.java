@@ -2,8 +2,10 @@ package com.joey.stanley.group.project.feedback_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FeedbackApiApplication {
 
 	public static void main(String[] args) {
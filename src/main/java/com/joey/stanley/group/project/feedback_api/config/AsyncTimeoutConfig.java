@@ -0,0 +1,15 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import com.joey.stanley.group.project.feedback_api.controllers.AsyncTimeoutInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncTimeoutConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
+    }
+}
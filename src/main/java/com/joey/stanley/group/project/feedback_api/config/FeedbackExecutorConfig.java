@@ -0,0 +1,41 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class FeedbackExecutorConfig {
+
+    public static final String FEEDBACK_WRITE_EXECUTOR = "feedbackWriteExecutor";
+
+    public static final String FEEDBACK_STREAM_EXECUTOR = "feedbackStreamExecutor";
+
+    // Runs async creates. Both the pool and its queue are bounded, and the default abort policy
+    // rejects new work once they are full, so overload fails fast instead of piling up in memory.
+    // Sized to match the connection pool; more threads would only wait on Hikari.
+    @Bean(name = FEEDBACK_WRITE_EXECUTOR)
+    public ThreadPoolTaskExecutor feedbackWriteExecutor(@Value("${feedback.async.pool-size:10}") int poolSize,
+                                                        @Value("${feedback.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("feedback-write-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Delivers SSE events. A send blocks while a slow client's socket is full, so each drain gets its own
+    // virtual thread rather than tying up a shared pool; FeedbackStreamService never queues more than one
+    // drain per subscriber, which bounds the number of tasks by the number of subscribers.
+    @Bean(name = FEEDBACK_STREAM_EXECUTOR)
+    public SimpleAsyncTaskExecutor feedbackStreamExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("feedback-stream-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.messaging.FeedbackEventFormat;
+import com.joey.stanley.group.project.feedback_api.messaging.FeedbackEventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+
+// Producer for the feedback-submitted topic. Starts from spring.kafka.producer.* and fills in throughput-oriented
+// defaults for anything left unset there: a short linger with larger, compressed batches, and idempotent
+// acks=all delivery so broker retries cannot duplicate or reorder a member's events.
+@Configuration
+public class KafkaProducerConfig {
+
+    static final int DEFAULT_LINGER_MS = 10;
+    static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+    static final String DEFAULT_COMPRESSION_TYPE = "lz4";
+
+    @Bean
+    public ProducerFactory<String, FeedbackSubmittedEvent> feedbackProducerFactory(KafkaProperties kafkaProperties,
+                                                                                   ObjectProvider<SslBundles> sslBundles,
+                                                                                   MeterRegistry meterRegistry,
+                                                                                   @Value("${feedback.kafka.producer.value-format:json}") FeedbackEventFormat valueFormat) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, DEFAULT_LINGER_MS);
+        props.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, DEFAULT_BATCH_SIZE);
+        props.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, DEFAULT_COMPRESSION_TYPE);
+        props.putIfAbsent(ProducerConfig.ACKS_CONFIG, "all");
+        props.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        // Key serializer comes from spring.kafka.producer.key-serializer
+        DefaultKafkaProducerFactory<String, FeedbackSubmittedEvent> producerFactory =
+                new DefaultKafkaProducerFactory<>(props, null, new FeedbackEventSerializer(valueFormat));
+        // Exposes the client's own metrics (record-send-rate, request-latency-avg, ...) as kafka.producer.*
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, FeedbackSubmittedEvent> kafkaTemplate(ProducerFactory<String, FeedbackSubmittedEvent> feedbackProducerFactory) {
+        return new KafkaTemplate<>(feedbackProducerFactory);
+    }
+}
@@ -0,0 +1,27 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.controllers.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "feedback.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitConfig(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.rateLimitInterceptor = new RateLimitInterceptor(properties, meterRegistry, objectMapper);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,52 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "feedback.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Callers sending this header with one of api-keys are limited per key; everyone else per remote address
+    private String clientHeader = "X-API-Key";
+
+    // Keys issued to integrators. Any other header value is ignored, so it cannot be used to mint new buckets
+    private List<String> apiKeys = new ArrayList<>();
+
+    // Bounds bucket memory: least recently used and idle buckets are evicted (an evicted caller starts full again)
+    private long maxClients = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Checked in order; the first rule matching the request's method and path applies, unmatched requests are not limited
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Rule {
+
+        // Used as the metric tag
+        private String name;
+
+        // HTTP method to match, or null for any
+        private String method;
+
+        // Spring path pattern, e.g. /api/v1/feedback/**
+        private String path;
+
+        // Requests a client may burst before being held to the refill rate
+        private int capacity;
+
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,72 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Sends @Transactional(readOnly = true) work to the read replicas and everything else to the primary
+// (spring.datasource.*). The physical connection is only picked when the first statement runs; by then Spring has
+// marked it read-only, which is what LazyConnectionDataSourceProxy routes on.
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(name = "feedback.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // Same pool Boot would build, under its own name so its hikaricp.* metrics are told apart from the replicas'
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(ReadReplicaProperties replicaProperties,
+                                                             DataSourceProperties primaryProperties,
+                                                             HikariDataSource primaryDataSource,
+                                                             MeterRegistry meterRegistry) {
+        if (replicaProperties.getInstances().isEmpty()) {
+            throw new IllegalStateException("feedback.datasource.replicas.enabled is set but no instances are configured");
+        }
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.getInstances().size(); i++) {
+            ReadReplicaProperties.Replica replica = replicaProperties.getInstances().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword());
+            pool.setMaximumPoolSize(replicaProperties.getMaxPoolSize());
+            pool.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // Start even while a replica is down; the health check keeps it out of rotation until it answers
+            pool.setInitializationFailTimeout(-1);
+            // Not beans, so Boot doesn't bind their metrics; tagged pool=<name> like the primary's
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
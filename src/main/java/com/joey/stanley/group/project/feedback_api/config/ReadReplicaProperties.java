@@ -0,0 +1,47 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "feedback.datasource.replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> instances = new ArrayList<>();
+
+    // Per replica pool
+    private int maxPoolSize = 10;
+
+    // How long a read waits for a replica connection before falling back to the primary
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    // A replica further behind the primary than this is taken out of rotation until it catches up
+    private Duration maxLag = Duration.ofSeconds(30);
+
+    private long healthCheckIntervalMs = 5000;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Replica {
+
+        // Used as the pool name and metric tag
+        private String name;
+
+        private String url;
+
+        // Default to spring.datasource.username / password
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,138 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Connections for read-only transactions: round-robin over the replicas that passed their last health check.
+// Reads go to the primary while no replica is usable, and whenever a replica refuses a connection.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Seconds behind the primary; 0 when caught up (an idle primary would otherwise look like growing lag),
+    // and 0 on a server that isn't replicating at all
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final Duration maxLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter fallbackCounter;
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        // Starts out of rotation; the first health check runs right after startup
+        volatile boolean healthy;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            Gauge.builder("feedback.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the replica is in the read rotation, 0 while it is skipped")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+        this.fallbackCounter = Counter.builder("feedback.datasource.replica.fallback")
+                .description("Read-only connections served by the primary because no replica was usable")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                markDown(replica, ex.getMessage());
+            }
+        }
+        fallbackCounter.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica connections use the credentials from their own configuration");
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+                lag.next();
+                double lagSeconds = lag.getDouble(1);
+                if (lagSeconds > maxLag.toSeconds()) {
+                    markDown(replica, "replication lag " + lagSeconds + "s exceeds " + maxLag.toSeconds() + "s");
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Replica {} is back in the read rotation", replica.name);
+                }
+            } catch (SQLException ex) {
+                markDown(replica, ex.getMessage());
+            }
+        }
+    }
+
+    boolean isHealthy(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.healthy);
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of the read rotation: {}", replica.name, reason);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
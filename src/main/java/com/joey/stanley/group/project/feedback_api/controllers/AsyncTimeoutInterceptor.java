@@ -0,0 +1,25 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+// Lets a handler give its own request a longer async timeout than spring.mvc.async.request-timeout, by setting
+// TIMEOUT_ATTRIBUTE to a Duration. Needed for return types like StreamingResponseBody, which always start with the default.
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    // Runs just before the async request starts, which is the last point its timeout can still be changed
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout
+                && request instanceof AsyncWebRequest asyncWebRequest) {
+            asyncWebRequest.setTimeout(timeout.toMillis());
+        }
+    }
+}
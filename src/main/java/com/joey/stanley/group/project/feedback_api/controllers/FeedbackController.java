@@ -1,32 +1,62 @@
 package com.joey.stanley.group.project.feedback_api.controllers;
 
+import com.joey.stanley.group.project.feedback_api.dtos.BatchFeedbackResponse;
 import com.joey.stanley.group.project.feedback_api.dtos.ErrorResponse;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackFilter;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackPage;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.services.AsyncFeedbackService;
+import com.joey.stanley.group.project.feedback_api.services.FeedbackExportService;
 import com.joey.stanley.group.project.feedback_api.services.FeedbackService;
+import com.joey.stanley.group.project.feedback_api.services.FeedbackStreamService;
+import com.joey.stanley.group.project.feedback_api.services.IdempotencyKeyReusedException;
+import com.joey.stanley.group.project.feedback_api.services.IdempotencyService;
+import com.joey.stanley.group.project.feedback_api.services.IdempotentFeedback;
+import com.joey.stanley.group.project.feedback_api.services.ServiceBusyException;
 import com.joey.stanley.group.project.feedback_api.services.ValidationException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -35,23 +65,56 @@ import org.springframework.web.bind.annotation.RequestParam;
         "http://localhost:80",
         "http://react-frontend:5173",
         "http://localhost:5173"
-    })
+    }, exposedHeaders = {FeedbackController.NEXT_CURSOR_HEADER, FeedbackController.IDEMPOTENT_REPLAYED_HEADER, HttpHeaders.ETAG})
 public class FeedbackController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String EXPORT_SLOT_INTERCEPTOR = FeedbackController.class.getName() + ".exportSlot";
+
     private FeedbackService feedbackService;
 
-    public FeedbackController(FeedbackService feedbackService) {
+    private IdempotencyService idempotencyService;
+
+    private AsyncFeedbackService asyncFeedbackService;
+
+    private FeedbackStreamService feedbackStreamService;
+
+    private FeedbackExportService feedbackExportService;
+
+    private ObjectMapper objectMapper;
+
+    public FeedbackController(FeedbackService feedbackService,
+                              IdempotencyService idempotencyService,
+                              AsyncFeedbackService asyncFeedbackService,
+                              FeedbackStreamService feedbackStreamService,
+                              FeedbackExportService feedbackExportService,
+                              ObjectMapper objectMapper) {
         this.feedbackService = feedbackService;
+        this.idempotencyService = idempotencyService;
+        this.asyncFeedbackService = asyncFeedbackService;
+        this.feedbackStreamService = feedbackStreamService;
+        this.feedbackExportService = feedbackExportService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(
             summary = "Create new feedback",
-            description = "Creates a feedback entry for a member, and returns the created feedback object and response."
+            description = "Creates a feedback entry for a member, and returns the created feedback object and response. "
+                    + "Retries that repeat the Idempotency-Key header get the original feedback back instead of creating it again."
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "201",
-                    description = "Feedback successfully created",
+                    description = "Feedback successfully created (or replayed for a repeated Idempotency-Key)",
+                    headers = @Header(
+                            name = IDEMPOTENT_REPLAYED_HEADER,
+                            description = "Present and true when the response is replayed from an earlier request"
+                    ),
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = FeedbackResponse.class)
@@ -64,43 +127,406 @@ public class FeedbackController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "The Idempotency-Key was already used with a different request body",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
     @PostMapping(value="/feedback")
-    public ResponseEntity<Object> createNewFeedback(@RequestBody FeedbackRequest feedbackRequest) {
+    public ResponseEntity<Object> createNewFeedback(@RequestBody FeedbackRequest feedbackRequest,
+                                                    @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        try {
+            if (idempotencyKey == null) {
+                FeedbackResponse createdFeedback = feedbackService.createFeedback(feedbackRequest);
+                URI location = URI.create("/api/v1/feedback/" + createdFeedback.getId().toString());
+                return ResponseEntity.created(location).body(createdFeedback);
+            }
+
+            IdempotentFeedback result = idempotencyService.createFeedback(idempotencyKey, feedbackRequest);
+            URI location = URI.create("/api/v1/feedback/" + result.feedback().getId().toString());
+            ResponseEntity.BodyBuilder response = ResponseEntity.created(location);
+            if (result.replayed()) {
+                response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+            }
+            return response.body(result.feedback());
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(ErrorResponse.from(ex));
+        } catch (IdempotencyKeyReusedException ex) {
+            return ResponseEntity.unprocessableEntity().body(ErrorResponse.from(ex.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "Create new feedback asynchronously",
+            description = "Same as POST /feedback, but the insert runs on a bounded worker pool and the request thread is "
+                    + "released while it is in flight. When the pool is saturated the request is turned away with 503."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Feedback successfully created (or replayed for a repeated Idempotency-Key)",
+                    headers = @Header(
+                            name = IDEMPOTENT_REPLAYED_HEADER,
+                            description = "Present and true when the response is replayed from an earlier request"
+                    ),
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FeedbackResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request: validation failed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "The Idempotency-Key was already used with a different request body",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many submissions in flight; retry after the Retry-After header's delay",
+                    headers = @Header(
+                            name = HttpHeaders.RETRY_AFTER,
+                            description = "Seconds to wait before retrying"
+                    ),
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping(value="/feedback/async")
+    public CompletableFuture<ResponseEntity<Object>> createNewFeedbackAsync(@RequestBody FeedbackRequest feedbackRequest,
+                                                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        try {
+            if (idempotencyKey == null) {
+                return asyncFeedbackService.createFeedback(feedbackRequest)
+                        .thenApply(createdFeedback -> {
+                            URI location = URI.create("/api/v1/feedback/" + createdFeedback.getId().toString());
+                            return ResponseEntity.created(location).body(createdFeedback);
+                        });
+            }
+
+            return asyncFeedbackService.createFeedback(feedbackRequest, idempotencyKey)
+                    .thenApply(result -> {
+                        URI location = URI.create("/api/v1/feedback/" + result.feedback().getId().toString());
+                        ResponseEntity.BodyBuilder response = ResponseEntity.created(location);
+                        if (result.replayed()) {
+                            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+                        }
+                        return response.body((Object) result.feedback());
+                    })
+                    .exceptionally(ex -> {
+                        //A concurrent request with the same key but a different body committed first
+                        if (ex.getCause() instanceof IdempotencyKeyReusedException reused) {
+                            return ResponseEntity.unprocessableEntity().body(ErrorResponse.from(reused.getMessage()));
+                        }
+                        throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+                    });
+        } catch (ValidationException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(ErrorResponse.from(ex)));
+        } catch (IdempotencyKeyReusedException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity.unprocessableEntity().body(ErrorResponse.from(ex.getMessage())));
+        } catch (ServiceBusyException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                    .body(ErrorResponse.from(ex.getMessage())));
+        }
+    }
+
+    @Operation(
+            summary = "Create feedback in bulk",
+            description = "Validates each entry in the list, stores the valid ones in a single batched transaction, and returns a per-entry result."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see each result for whether the entry was created or rejected",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchFeedbackResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request: batch is empty or too large",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping(value="/feedback/batch")
+    public ResponseEntity<Object> createNewFeedbackBatch(@RequestBody List<FeedbackRequest> feedbackRequests) {
+        try {
+            BatchFeedbackResponse batchResponse = feedbackService.createFeedbackBatch(feedbackRequests);
+            return ResponseEntity.ok(batchResponse);
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(ErrorResponse.from(ex));
+        }
+    }
+
+    @Operation(
+            summary = "Stream new feedback",
+            description = "Server-Sent Events stream of feedback as it is committed, as 'feedback' events carrying a FeedbackResponse. "
+                    + "Optionally filtered by memberId and/or providerName. Entries are not replayed; a client that falls "
+                    + "too far behind loses its oldest undelivered entries."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = FeedbackResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many open streams on this node; retry after the Retry-After header's delay",
+                    headers = @Header(
+                            name = HttpHeaders.RETRY_AFTER,
+                            description = "Seconds to wait before retrying"
+                    )
+            )
+    })
+    @GetMapping(value="/feedback/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamFeedback(@RequestParam(required = false) String memberId,
+                                                     @RequestParam(required = false) String providerName) {
         try {
-            FeedbackResponse createdFeedback = feedbackService.createFeedback(feedbackRequest);
-            URI location = URI.create("/api/v1/feedback/" + createdFeedback.getId().toString());
-            return ResponseEntity.created(location).body(createdFeedback);
+            return ResponseEntity.ok(feedbackStreamService.subscribe(memberId, providerName));
+        } catch (ServiceBusyException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                    .build();
+        }
+    }
+
+    @Operation(
+            summary = "Filter feedback",
+            description = "Returns one page of feedback matching every given filter, newest first: exact providerName, "
+                    + "rating range (minRating, maxRating) and submission window (from inclusive, to exclusive). "
+                    + "When more entries exist, the X-Next-Cursor header holds the cursor for the next page."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page of matching feedback entries",
+                    headers = @Header(
+                            name = NEXT_CURSOR_HEADER,
+                            description = "Pass as the cursor parameter to fetch the next page; absent on the last page"
+                    ),
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(
+                                    schema = @Schema(implementation = FeedbackResponse.class)
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filter, limit or cursor",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping(value="/feedback/filter")
+    public ResponseEntity<Object> findFeedback(@ParameterObject FeedbackFilter filter,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor) {
+        try {
+            FeedbackPage page = feedbackService.findFeedback(filter, limit, cursor);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
         } catch (ValidationException ex) {
             return ResponseEntity.badRequest().body(ErrorResponse.from(ex));
         }
     }
 
+    @Operation(
+            summary = "Search feedback",
+            description = "Full-text search over provider names and comments, best matches first. q takes free text: "
+                    + "words, \"quoted phrases\", -excluded words and or. When more matches exist, the X-Next-Cursor "
+                    + "header holds the cursor for the next page."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page of matching feedback entries",
+                    headers = @Header(
+                            name = NEXT_CURSOR_HEADER,
+                            description = "Pass as the cursor parameter to fetch the next page; absent on the last page"
+                    ),
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(
+                                    schema = @Schema(implementation = FeedbackResponse.class)
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing or too long q, or invalid limit or cursor",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping(value="/feedback/search")
+    public ResponseEntity<Object> searchFeedback(@RequestParam(required = false) String q,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String cursor) {
+        try {
+            FeedbackPage page = feedbackService.searchFeedback(q, limit, cursor);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(ErrorResponse.from(ex));
+        }
+    }
+
+    @Operation(
+            summary = "Export feedback",
+            description = "Every feedback entry for a member and/or provider, optionally bounded by submission time, oldest "
+                    + "first. format=ndjson (default) writes one FeedbackResponse JSON object per line; format=csv writes a "
+                    + "header row then one row per entry. The response is streamed, so exports of any size are supported. "
+                    + "Only a few exports run at once on each node; the rest are turned away with a 503."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Export streamed as an attachment",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = FeedbackResponse.class)),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request: no memberId or providerName, bad format, or empty time window",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many exports running on this node; retry after the Retry-After header's delay",
+                    headers = @Header(
+                            name = HttpHeaders.RETRY_AFTER,
+                            description = "Seconds to wait before retrying"
+                    )
+            )
+    })
+    @GetMapping(value="/feedback/export")
+    public ResponseEntity<StreamingResponseBody> exportFeedback(@RequestParam(required = false) String memberId,
+                                                                @RequestParam(required = false) String providerName,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                                @RequestParam(defaultValue = "ndjson") String format,
+                                                                WebRequest webRequest) {
+        try {
+            FeedbackExportService.Format exportFormat = FeedbackExportService.format(format);
+            FeedbackExportService.validate(memberId, providerName, from, to);
+            FeedbackExportService.Slot slot = feedbackExportService.reserve();
+            try {
+                //The body may never run (rejected, timed out, client gone), so the slot is also closed when the async request ends
+                WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(EXPORT_SLOT_INTERCEPTOR, new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        slot.close();
+                    }
+                });
+                ContentDisposition attachment = ContentDisposition.attachment()
+                        .filename("feedback-export." + exportFormat.getExtension())
+                        .build();
+                //Large exports outlast the default async timeout, which stays short for everything else
+                webRequest.setAttribute(AsyncTimeoutInterceptor.TIMEOUT_ATTRIBUTE, feedbackExportService.getTimeout(), RequestAttributes.SCOPE_REQUEST);
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                        .body(out -> {
+                            try (slot) {
+                                feedbackExportService.export(memberId, providerName, from, to, exportFormat, out);
+                            }
+                        });
+            } catch (RuntimeException ex) {
+                slot.close();
+                throw ex;
+            }
+        } catch (ServiceBusyException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                    .build();
+        } catch (ValidationException ex) {
+            //Only a StreamingResponseBody can be returned here, so the error body is written through one too
+            ErrorResponse error = ErrorResponse.from(ex);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+    }
+
     @Operation(
             summary = "Get feedback by ID",
-            description = "Fetch a single feedback entry using its ID."
+            description = "Fetch a single feedback entry using its ID. Feedback never changes once created, so its ID "
+                    + "is its ETag; a matching If-None-Match gets a 304 without the entry being looked up, unless the entry "
+                    + "is old enough for retention to have removed it."
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Feedback found",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Strong validator for If-None-Match"),
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = FeedbackResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified: If-None-Match matches the ETag"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Feedback not found"
             )
     })
     @GetMapping(value="/feedback/{feedbackId}")
-    public ResponseEntity<FeedbackResponse> findFeedbackById(@PathVariable UUID feedbackId) {
+    public ResponseEntity<FeedbackResponse> findFeedbackById(@PathVariable UUID feedbackId, WebRequest webRequest) {
+        String etag = "\"" + feedbackId + "\"";
+        //Once retention may have dropped the entry, the id alone no longer proves it still exists: look it up, so a
+        //retired entry gets a 404 instead of a 304 forever
+        if (!feedbackService.mayBeRetired(feedbackId) && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         Optional<FeedbackResponse> response = feedbackService.findFeedbackById(feedbackId);
 
         if (response.isPresent()) {
-            return ResponseEntity.ok(response.get());
+            return ResponseEntity.ok().eTag(etag).body(response.get());
         }
 
         return ResponseEntity.notFound().build();
@@ -108,25 +534,64 @@ public class FeedbackController {
 
     @Operation(
             summary = "Get feedback by member ID",
-            description = "Returns a list of all feedback entries submitted by the specified memberId."
+            description = "Returns one page of feedback entries submitted by the specified memberId, newest first. "
+                    + "When more entries exist, the X-Next-Cursor header holds the cursor for the next page. "
+                    + "The ETag changes whenever the member's feedback does; a matching If-None-Match gets a 304 "
+                    + "without the page being loaded."
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of feedback entries",
+                    description = "Page of feedback entries",
+                    headers = {
+                            @Header(
+                                    name = NEXT_CURSOR_HEADER,
+                                    description = "Pass as the cursor parameter to fetch the next page; absent on the last page"
+                            ),
+                            @Header(name = HttpHeaders.ETAG, description = "Weak validator for If-None-Match")
+                    },
                     content = @Content(
                             mediaType = "application/json",
                             array = @ArraySchema(
                                     schema = @Schema(implementation = FeedbackResponse.class)
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified: If-None-Match matches the ETag"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid limit or cursor",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
     @GetMapping(value="/feedback")
-    public ResponseEntity<List<FeedbackResponse>> findFeedbackByMemberId(@RequestParam String memberId) {
-        List<FeedbackResponse> responses = feedbackService.findFeedbackByMemberId(memberId);
-        
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<Object> findFeedbackByMemberId(@RequestParam String memberId,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestParam(required = false) String cursor,
+                                                         WebRequest webRequest) {
+        try {
+            //One version covers every page of the member's list, so it is checked before any page is loaded. Weak,
+            //because Tomcat will not gzip a response with a strong ETag (the compressed bytes differ from the original)
+            String etag = "W/\"" + feedbackService.findMemberFeedbackVersion(memberId) + "\"";
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
+            FeedbackPage page = feedbackService.findFeedbackByMemberId(memberId, limit, cursor);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(ErrorResponse.from(ex));
+        }
     }
 
 }
@@ -0,0 +1,104 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import com.joey.stanley.group.project.feedback_api.dtos.ErrorResponse;
+import com.joey.stanley.group.project.feedback_api.dtos.ProviderStatsResponse;
+import com.joey.stanley.group.project.feedback_api.services.ProviderStatsService;
+import com.joey.stanley.group.project.feedback_api.services.ValidationException;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@RestController
+@RequestMapping("/api/v1/providers")
+@CrossOrigin(origins = {
+        "http://react-frontend:80",
+        "http://localhost:80",
+        "http://react-frontend:5173",
+        "http://localhost:5173"
+    })
+public class ProviderStatsController {
+
+    private ProviderStatsService providerStatsService;
+
+    public ProviderStatsController(ProviderStatsService providerStatsService) {
+        this.providerStatsService = providerStatsService;
+    }
+
+    @Operation(
+            summary = "Get rating stats for a provider",
+            description = "Returns the feedback count, average rating and 1-5 star distribution for a single provider."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Provider stats found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProviderStatsResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "No feedback recorded for this provider"
+            )
+    })
+    @GetMapping(value="/{providerName}/stats")
+    public ResponseEntity<ProviderStatsResponse> findProviderStats(@PathVariable String providerName) {
+        Optional<ProviderStatsResponse> response = providerStatsService.findStats(providerName);
+
+        if (response.isPresent()) {
+            return ResponseEntity.ok(response.get());
+        }
+
+        return ResponseEntity.notFound().build();
+    }
+
+    @Operation(
+            summary = "Get rating stats for the most-reviewed providers",
+            description = "Returns stats for the top N providers by feedback count, highest first."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "List of provider stats",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(
+                                    schema = @Schema(implementation = ProviderStatsResponse.class)
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid top parameter",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping(value="/stats")
+    public ResponseEntity<Object> findTopProviderStats(@RequestParam(defaultValue = "10") int top) {
+        try {
+            List<ProviderStatsResponse> responses = providerStatsService.findTopProviders(top);
+            return ResponseEntity.ok(responses);
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(ErrorResponse.from(ex));
+        }
+    }
+}
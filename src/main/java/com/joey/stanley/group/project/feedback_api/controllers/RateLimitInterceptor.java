@@ -0,0 +1,130 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joey.stanley.group.project.feedback_api.config.RateLimitProperties;
+import com.joey.stanley.group.project.feedback_api.dtos.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Per-client token buckets in front of the API. Rejected calls get 429 with Retry-After before reaching a controller,
+// so a flooding client is turned away without touching the connection pool.
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String CACHE_NAME = "rateLimitBuckets";
+
+    private final String clientHeader;
+    private final Set<String> apiKeys;
+    private final List<CompiledRule> rules;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.clientHeader = properties.getClientHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(rule, meterRegistry))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // Async requests (POST /feedback/async, the SSE stream, exports) are dispatched a second time to write their
+        // result; that one was paid for on the way in, and a 429 now could follow a create that already committed
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        CompiledRule rule = match(request);
+        if (rule == null) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new BucketKey(rule, clientKey(request)),
+                key -> new TokenBucket(key.rule().capacity, key.rule().refillPerSecond, now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        rule.rejected.increment();
+        // Rounded up, so a client that waits exactly this long will find a token
+        long retryAfterSeconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.from("Rate limit exceeded, retry later"));
+        return false;
+    }
+
+    private CompiledRule match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledRule rule : rules) {
+            if ((rule.method == null || rule.method.equalsIgnoreCase(request.getMethod())) && rule.path.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    // Only configured keys get their own bucket. The header is not authenticated, so trusting any value would let one
+    // caller rotate keys for a fresh bucket each time, and flood the size-capped cache until real clients' are evicted.
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(clientHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Rules compare by identity, so each rule has its own bucket per client
+    private record BucketKey(CompiledRule rule, String client) {
+    }
+
+    private static final class CompiledRule {
+
+        final String method;
+        final PathPattern path;
+        final int capacity;
+        final double refillPerSecond;
+        final Counter rejected;
+
+        CompiledRule(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            if (rule.getCapacity() < 1 || rule.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Rate limit rule '" + rule.getName()
+                        + "' needs a capacity of at least 1 and a positive refill-per-second");
+            }
+            this.method = rule.getMethod();
+            this.path = PathPatternParser.defaultInstance.parse(rule.getPath());
+            this.capacity = rule.getCapacity();
+            this.refillPerSecond = rule.getRefillPerSecond();
+            this.rejected = Counter.builder("feedback.rate-limit.rejected")
+                    .description("Requests rejected with 429 by the per-client rate limiter")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry);
+        }
+    }
+}
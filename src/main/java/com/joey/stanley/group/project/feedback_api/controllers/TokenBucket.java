@@ -0,0 +1,33 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket in its GCRA form: instead of a token count it keeps the "theoretical arrival time" of the
+// next request, so taking a token is a single compare-and-set on one long and needs no lock or refill timer.
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // Returns 0 when a token was taken, otherwise how many nanoseconds until one will be available
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long allowedAt = next - burstToleranceNanos;
+            if (allowedAt > nowNanos) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.joey.stanley.group.project.feedback_api.dtos;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchFeedbackResponse {
+
+    private int created;
+    private int rejected;
+    private List<BatchFeedbackResult> results;
+
+    public static BatchFeedbackResponse from(List<BatchFeedbackResult> results) {
+        BatchFeedbackResponse response = new BatchFeedbackResponse();
+        int created = 0;
+        for (BatchFeedbackResult result : results) {
+            if (result.getStatus() == BatchFeedbackResult.Status.CREATED) {
+                created++;
+            }
+        }
+        response.setCreated(created);
+        response.setRejected(results.size() - created);
+        response.setResults(results);
+        return response;
+    }
+}
@@ -0,0 +1,50 @@
+package com.joey.stanley.group.project.feedback_api.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.joey.stanley.group.project.feedback_api.services.ValidationException;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchFeedbackResult {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private FeedbackResponse feedback;
+    private String error;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<FieldValidationError> errors;
+
+    public static BatchFeedbackResult created(int index, FeedbackResponse feedback) {
+        BatchFeedbackResult result = new BatchFeedbackResult();
+        result.setIndex(index);
+        result.setStatus(Status.CREATED);
+        result.setFeedback(feedback);
+        return result;
+    }
+
+    public static BatchFeedbackResult rejected(int index, String error) {
+        BatchFeedbackResult result = new BatchFeedbackResult();
+        result.setIndex(index);
+        result.setStatus(Status.REJECTED);
+        result.setError(error);
+        return result;
+    }
+
+    public static BatchFeedbackResult rejected(int index, ValidationException ex) {
+        BatchFeedbackResult result = rejected(index, ex.getMessage());
+        result.setErrors(ex.getErrors());
+        return result;
+    }
+}
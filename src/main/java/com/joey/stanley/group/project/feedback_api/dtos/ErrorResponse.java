@@ -1,11 +1,14 @@
 package com.joey.stanley.group.project.feedback_api.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.joey.stanley.group.project.feedback_api.services.ValidationException;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,9 +16,14 @@ public class ErrorResponse {
 
     private String message;
 
+    //Every failed field check, when the request body was at fault
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<FieldValidationError> errors;
+
     public static ErrorResponse from(ValidationException ex) {
         ErrorResponse errorResponse = new ErrorResponse();
         errorResponse.setMessage(ex.getMessage());
+        errorResponse.setErrors(ex.getErrors());
         return errorResponse;
     }
 
@@ -0,0 +1,43 @@
+package com.joey.stanley.group.project.feedback_api.dtos;
+
+import com.joey.stanley.group.project.feedback_api.services.ValidationException;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+// Opaque keyset position: the (submittedAt, id) of the last row a client has already seen
+@Getter
+public class FeedbackCursor {
+
+    private final Instant submittedAt;
+    private final UUID id;
+
+    public FeedbackCursor(Instant submittedAt, UUID id) {
+        this.submittedAt = submittedAt;
+        this.id = id;
+    }
+
+    public static FeedbackCursor after(FeedbackResponse feedback) {
+        return new FeedbackCursor(feedback.getSubmittedAt(), feedback.getId());
+    }
+
+    public String encode() {
+        String raw = submittedAt.getEpochSecond() + ":" + submittedAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedbackCursor decode(String cursor) throws ValidationException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            Instant submittedAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new FeedbackCursor(submittedAt, UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new ValidationException("Parameter 'cursor' is not a valid cursor");
+        }
+    }
+}
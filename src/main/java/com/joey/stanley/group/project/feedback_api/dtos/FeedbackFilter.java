@@ -0,0 +1,43 @@
+package com.joey.stanley.group.project.feedback_api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+// Query-string filters for GET /feedback/filter; every field is optional and they combine with AND
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedbackFilter {
+
+    @Schema(description = "Exact provider name")
+    private String providerName;
+
+    @Schema(description = "Lowest rating to include (1-5)")
+    private Integer minRating;
+
+    @Schema(description = "Highest rating to include (1-5)")
+    private Integer maxRating;
+
+    @Schema(description = "Submitted at or after this instant (ISO-8601)", example = "2025-01-01T00:00:00Z")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant from;
+
+    @Schema(description = "Submitted before this instant (ISO-8601)", example = "2025-01-02T00:00:00Z")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant to;
+
+    public static FeedbackFilter of(String providerName, Integer minRating, Integer maxRating, Instant from, Instant to) {
+        FeedbackFilter filter = new FeedbackFilter();
+        filter.setProviderName(providerName);
+        filter.setMinRating(minRating);
+        filter.setMaxRating(maxRating);
+        filter.setFrom(from);
+        filter.setTo(to);
+        return filter;
+    }
+}
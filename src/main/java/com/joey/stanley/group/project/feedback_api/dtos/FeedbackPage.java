@@ -0,0 +1,24 @@
+package com.joey.stanley.group.project.feedback_api.dtos;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedbackPage {
+
+    private List<FeedbackResponse> items;
+    // Null when there is nothing after this page
+    private String nextCursor;
+
+    public static FeedbackPage of(List<FeedbackResponse> items, String nextCursor) {
+        FeedbackPage page = new FeedbackPage();
+        page.setItems(items);
+        page.setNextCursor(nextCursor);
+        return page;
+    }
+}
@@ -2,6 +2,7 @@ package com.joey.stanley.group.project.feedback_api.dtos;
 
 import com.joey.stanley.group.project.feedback_api.entity.Feedback;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,6 +13,8 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
+// The all-args constructor is what FeedbackRepository's projection queries call, in this field order
+@AllArgsConstructor
 public class FeedbackResponse {
     private UUID id;
     private String memberId;
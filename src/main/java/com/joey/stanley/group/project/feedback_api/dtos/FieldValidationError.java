@@ -0,0 +1,11 @@
+package com.joey.stanley.group.project.feedback_api.dtos;
+
+// One failed check on a request field. code is stable and meant for clients to branch on; message is for people
+public record FieldValidationError(String field, String code, String message) {
+
+    public static final String REQUIRED = "required";
+
+    public static final String TOO_LONG = "too_long";
+
+    public static final String OUT_OF_RANGE = "out_of_range";
+}
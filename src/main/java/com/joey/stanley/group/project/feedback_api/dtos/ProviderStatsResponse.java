@@ -0,0 +1,38 @@
+package com.joey.stanley.group.project.feedback_api.dtos;
+
+import com.joey.stanley.group.project.feedback_api.entity.ProviderRatingStats;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProviderStatsResponse {
+    private String providerName;
+    private long feedbackCount;
+    private double averageRating;
+    // Star rating (1-5) to number of entries with that rating
+    private Map<Integer, Long> ratingDistribution;
+
+    public static ProviderStatsResponse from(ProviderRatingStats stats) {
+        ProviderStatsResponse response = new ProviderStatsResponse();
+        response.setProviderName(stats.getProviderName());
+        response.setFeedbackCount(stats.getFeedbackCount());
+        response.setAverageRating(stats.getFeedbackCount() == 0
+                ? 0
+                : (double) stats.getRatingSum() / stats.getFeedbackCount());
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, stats.getOneStarCount());
+        distribution.put(2, stats.getTwoStarCount());
+        distribution.put(3, stats.getThreeStarCount());
+        distribution.put(4, stats.getFourStarCount());
+        distribution.put(5, stats.getFiveStarCount());
+        response.setRatingDistribution(distribution);
+        return response;
+    }
+}
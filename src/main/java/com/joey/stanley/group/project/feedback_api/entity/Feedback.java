@@ -1,9 +1,9 @@
 package com.joey.stanley.group.project.feedback_api.entity;
 
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
 import jakarta.persistence.*;
 import lombok.Data;
 
-import org.hibernate.annotations.Check;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.Instant;
@@ -13,10 +13,22 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name="feedback")
-@Check(constraints = "rating BETWEEN 1 AND 5")
+// Lets native queries (see FeedbackRepository.search) build responses from the row without a managed entity
+@SqlResultSetMapping(name = Feedback.RESPONSE_MAPPING, classes = @ConstructorResult(
+        targetClass = FeedbackResponse.class,
+        columns = {
+                @ColumnResult(name = "id", type = UUID.class),
+                @ColumnResult(name = "member_id", type = String.class),
+                @ColumnResult(name = "provider_name", type = String.class),
+                @ColumnResult(name = "rating", type = int.class),
+                @ColumnResult(name = "comment", type = String.class),
+                @ColumnResult(name = "submitted_at", type = Instant.class)
+        }))
 public class Feedback {
+    public static final String RESPONSE_MAPPING = "Feedback.response";
+
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false, length = 36)
@@ -0,0 +1,28 @@
+package com.joey.stanley.group.project.feedback_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name="feedback_idempotency")
+public class IdempotencyRecord {
+    // Client-supplied Idempotency-Key header
+    @Id
+    @Column(length = 255)
+    private String idempotencyKey;
+
+    // Feedback created by the first request that used the key
+    @Column(nullable = false)
+    private UUID feedbackId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // SHA-256 of the first request's body; a retry with a different body is refused. Null for keys stored before V10
+    @Column(length = 64)
+    private String requestHash;
+}
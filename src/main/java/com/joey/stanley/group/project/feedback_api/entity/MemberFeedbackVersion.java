@@ -0,0 +1,17 @@
+package com.joey.stanley.group.project.feedback_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Changes whenever the member's feedback list does; bumped in the same transaction as each new Feedback row
+@Data
+@Entity
+@Table(name="member_feedback_version")
+public class MemberFeedbackVersion {
+    @Id
+    @Column(length = 36)
+    private String memberId;
+
+    @Column(nullable = false)
+    private long version;
+}
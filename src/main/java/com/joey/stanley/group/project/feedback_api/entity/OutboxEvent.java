@@ -0,0 +1,42 @@
+package com.joey.stanley.group.project.feedback_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name="feedback_outbox")
+public class OutboxEvent {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    // Id of the feedback row this event describes
+    @Column(nullable = false, length = 36)
+    private String aggregateId;
+
+    // Kafka key of the event; the relay sends a member's events one at a time, oldest first
+    @Column(nullable = false, length = 36)
+    private String memberId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+}
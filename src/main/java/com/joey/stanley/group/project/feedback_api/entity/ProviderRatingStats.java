@@ -0,0 +1,35 @@
+package com.joey.stanley.group.project.feedback_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Running totals per provider, kept up to date in the same transaction as each new Feedback row
+@Data
+@Entity
+@Table(name="provider_rating_stats")
+public class ProviderRatingStats {
+    @Id
+    @Column(length = 80)
+    private String providerName;
+
+    @Column(nullable = false)
+    private long feedbackCount;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long oneStarCount;
+
+    @Column(nullable = false)
+    private long twoStarCount;
+
+    @Column(nullable = false)
+    private long threeStarCount;
+
+    @Column(nullable = false)
+    private long fourStarCount;
+
+    @Column(nullable = false)
+    private long fiveStarCount;
+}
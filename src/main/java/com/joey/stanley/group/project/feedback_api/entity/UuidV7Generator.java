@@ -0,0 +1,52 @@
+package com.joey.stanley.group.project.feedback_api.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp, then a 12-bit counter, then 62 random bits.
+// New keys land at the right-hand edge of the primary-key B-tree instead of on random pages,
+// so inserts stay append-only and the index stays dense.
+// The counter keeps ids from one JVM strictly increasing within a millisecond; if it runs out
+// it borrows from the next millisecond rather than going backwards.
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final long COUNTER_BITS = 12;
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long current = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long millis = current >>> COUNTER_BITS;
+        long counter = current & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (millis << 16) | 0x7000L | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    // Creation time embedded in a v7 id, or null for any other version
+    public static Instant timestampOf(UUID id) {
+        if (id.version() != 7) {
+            return null;
+        }
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,148 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+// Binary encoding of FeedbackSubmittedEvent, schema version 1:
+//   flags         1 byte: bit 0 = comment present, bit 1 = submittedAt present
+//   id            16 bytes, UUID most then least significant bits
+//   memberId      varint length + UTF-8
+//   providerName  varint length + UTF-8
+//   rating        1 byte
+//   comment       varint length + UTF-8, if present
+//   submittedAt   zigzag varlong epoch seconds + varint nanos, if present
+// The schema version itself travels in a record header, not in the payload.
+public final class FeedbackEventCodec {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final int HAS_COMMENT = 1;
+    private static final int HAS_SUBMITTED_AT = 1 << 1;
+
+    private FeedbackEventCodec() {
+    }
+
+    public static byte[] encode(FeedbackSubmittedEvent event) {
+        byte[] memberId = utf8(event.getMemberId());
+        byte[] providerName = utf8(event.getProviderName());
+        byte[] comment = event.getComment() == null ? null : utf8(event.getComment());
+        Instant submittedAt = event.getSubmittedAt();
+        UUID id = UUID.fromString(event.getId());
+
+        // Upper bound: 10 bytes per varlong, 5 per varint
+        Writer out = new Writer(1 + 16 + 5 + memberId.length + 5 + providerName.length + 1
+                + (comment == null ? 0 : 5 + comment.length) + 15);
+        out.writeByte((comment != null ? HAS_COMMENT : 0) | (submittedAt != null ? HAS_SUBMITTED_AT : 0));
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        out.writeBytes(memberId);
+        out.writeBytes(providerName);
+        out.writeByte(event.getRating());
+        if (comment != null) {
+            out.writeBytes(comment);
+        }
+        if (submittedAt != null) {
+            out.writeVarLong((submittedAt.getEpochSecond() << 1) ^ (submittedAt.getEpochSecond() >> 63));
+            out.writeVarLong(submittedAt.getNano());
+        }
+        return out.toByteArray();
+    }
+
+    public static FeedbackSubmittedEvent decode(byte[] data, int schemaVersion) {
+        if (schemaVersion != SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported feedback event schema version " + schemaVersion);
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(data);
+            int flags = in.get();
+            FeedbackSubmittedEvent event = new FeedbackSubmittedEvent();
+            event.setId(new UUID(in.getLong(), in.getLong()).toString());
+            event.setMemberId(readString(in));
+            event.setProviderName(readString(in));
+            event.setRating(in.get());
+            if ((flags & HAS_COMMENT) != 0) {
+                event.setComment(readString(in));
+            }
+            if ((flags & HAS_SUBMITTED_AT) != 0) {
+                long zigzag = readVarLong(in);
+                long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+                event.setSubmittedAt(Instant.ofEpochSecond(seconds, readVarLong(in)));
+            }
+            event.setSchemaVersion(schemaVersion);
+            return event;
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new SerializationException("Malformed binary feedback event", ex);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " exceeds the remaining payload");
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is too long");
+    }
+
+    private static final class Writer {
+
+        private final byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] value) {
+            writeVarLong(value.length);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+
+// Reads feedback-submitted records in either format, based on the content-type header written by FeedbackEventSerializer
+public class FeedbackEventDeserializer implements Deserializer<FeedbackSubmittedEvent> {
+
+    private final JsonDeserializer<FeedbackSubmittedEvent> jsonDeserializer =
+            new JsonDeserializer<>(FeedbackSubmittedEvent.class, false);
+
+    @Override
+    public FeedbackSubmittedEvent deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public FeedbackSubmittedEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        FeedbackEventFormat format = FeedbackEventFormat.fromContentType(
+                headerValue(headers, FeedbackEventSerializer.CONTENT_TYPE_HEADER));
+        if (format == FeedbackEventFormat.BINARY) {
+            String schemaVersion = headerValue(headers, FeedbackEventSerializer.SCHEMA_VERSION_HEADER);
+            try {
+                return FeedbackEventCodec.decode(data,
+                        schemaVersion == null ? FeedbackEventCodec.SCHEMA_VERSION : Integer.parseInt(schemaVersion));
+            } catch (NumberFormatException ex) {
+                throw new SerializationException("Invalid feedback schema version header: " + schemaVersion, ex);
+            }
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    private static String headerValue(Headers headers, String key) {
+        Header header = headers == null ? null : headers.lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+// Wire formats for feedback-submitted record values, announced to consumers in the content-type header
+public enum FeedbackEventFormat {
+    JSON("application/json"),
+    BINARY("application/vnd.feedback-event+binary");
+
+    private final String contentType;
+
+    FeedbackEventFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    // Records without a (recognised) content-type predate the header and are JSON
+    public static FeedbackEventFormat fromContentType(String contentType) {
+        return BINARY.contentType.equals(contentType) ? BINARY : JSON;
+    }
+}
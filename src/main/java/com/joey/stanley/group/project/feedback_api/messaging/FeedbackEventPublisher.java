@@ -1,19 +1,73 @@
 package com.joey.stanley.group.project.feedback_api.messaging;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Component
 public class FeedbackEventPublisher {
 
     private final KafkaTemplate<String, FeedbackSubmittedEvent> kafkaTemplate;
     private static final String TOPIC = "feedback-submitted";
 
-    public FeedbackEventPublisher(KafkaTemplate<String, FeedbackSubmittedEvent> kafkaTemplate) {
+    private final MeterRegistry meterRegistry;
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public FeedbackEventPublisher(KafkaTemplate<String, FeedbackSubmittedEvent> kafkaTemplate, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.sentTimer = sendTimer(meterRegistry, "success");
+        this.failedTimer = sendTimer(meterRegistry, "failure");
+        Gauge.builder("feedback.events.in-flight", inFlight, AtomicInteger::get)
+                .description("Feedback events handed to the producer and not yet acknowledged by the broker")
+                .register(meterRegistry);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("feedback.events.send")
+                .description("Time from handing a feedback event to the producer until the broker acknowledges it")
+                .tag("topic", TOPIC)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Keyed by memberId so all of a member's events land on one partition and stay in order
+    public CompletableFuture<SendResult<String, FeedbackSubmittedEvent>> publishFeedbackEvent(FeedbackSubmittedEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        inFlight.incrementAndGet();
+        CompletableFuture<SendResult<String, FeedbackSubmittedEvent>> future;
+        try {
+            future = kafkaTemplate.send(TOPIC, event.getMemberId(), event);
+        } catch (RuntimeException ex) {
+            inFlight.decrementAndGet();
+            sample.stop(failedTimer);
+            throw ex;
+        }
+        future.whenComplete((result, ex) -> {
+            inFlight.decrementAndGet();
+            // Failures are recorded (and retried) per event by the outbox relay
+            sample.stop(ex == null ? sentTimer : failedTimer);
+        });
+        return future;
     }
 
-    public void publishFeedbackEvent(FeedbackSubmittedEvent event) {
-        kafkaTemplate.send(TOPIC, event);
+    // Hand every record to the producer before flushing, so they go out in as few requests as possible
+    public List<CompletableFuture<SendResult<String, FeedbackSubmittedEvent>>> publishFeedbackEvents(List<FeedbackSubmittedEvent> events) {
+        List<CompletableFuture<SendResult<String, FeedbackSubmittedEvent>>> futures = new ArrayList<>(events.size());
+        for (FeedbackSubmittedEvent event : events) {
+            futures.add(publishFeedbackEvent(event));
+        }
+        kafkaTemplate.flush();
+        return futures;
     }
 }
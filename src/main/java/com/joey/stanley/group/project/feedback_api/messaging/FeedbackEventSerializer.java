@@ -0,0 +1,60 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// Writes feedback events in the configured format and tags each record with content-type and schema-version
+// headers, so consumers can pick the matching decoder (see FeedbackEventDeserializer)
+public class FeedbackEventSerializer implements Serializer<FeedbackSubmittedEvent> {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String SCHEMA_VERSION_HEADER = "feedback-schema-version";
+
+    private final FeedbackEventFormat format;
+    private final JsonSerializer<FeedbackSubmittedEvent> jsonSerializer = new JsonSerializer<>();
+
+    public FeedbackEventSerializer(FeedbackEventFormat format) {
+        this.format = format;
+    }
+
+    public FeedbackEventFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, FeedbackSubmittedEvent data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, FeedbackSubmittedEvent data) {
+        if (data == null) {
+            return null;
+        }
+        if (headers != null) {
+            headers.remove(CONTENT_TYPE_HEADER);
+            headers.add(CONTENT_TYPE_HEADER, format.getContentType().getBytes(StandardCharsets.UTF_8));
+            headers.remove(SCHEMA_VERSION_HEADER);
+            headers.add(SCHEMA_VERSION_HEADER, Integer.toString(data.getSchemaVersion()).getBytes(StandardCharsets.UTF_8));
+        }
+        if (format == FeedbackEventFormat.BINARY) {
+            return FeedbackEventCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
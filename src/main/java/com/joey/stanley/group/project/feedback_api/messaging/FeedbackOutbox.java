@@ -0,0 +1,55 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.entity.OutboxEvent;
+import com.joey.stanley.group.project.feedback_api.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Records events in the same transaction as the feedback they describe; OutboxRelay ships them to Kafka
+@Component
+public class FeedbackOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public FeedbackOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(FeedbackSubmittedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event, Instant.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<FeedbackSubmittedEvent> events) {
+        Instant now = Instant.now();
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (FeedbackSubmittedEvent event : events) {
+            outboxEvents.add(toOutboxEvent(event, now));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    private OutboxEvent toOutboxEvent(FeedbackSubmittedEvent event, Instant now) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(event.getId());
+        outboxEvent.setMemberId(event.getMemberId());
+        outboxEvent.setNextAttemptAt(now);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize event for feedback " + event.getId(), ex);
+        }
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,186 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.entity.OutboxEvent;
+import com.joey.stanley.group.project.feedback_api.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Drains feedback_outbox to the feedback-submitted topic, retrying failed rows with exponential backoff.
+// Rows are claimed in one short transaction by pushing next_attempt_at out by a lease, sent with no transaction or
+// connection held, then deleted or rescheduled in a second one. If the relay dies in between, the lease runs out and
+// the rows are sent again.
+@Component
+@ConditionalOnProperty(name = "feedback.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final FeedbackEventPublisher feedbackEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMs;
+    private final long leaseMs;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       FeedbackEventPublisher feedbackEventPublisher,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${feedback.outbox.batch-size:200}") int batchSize,
+                       @Value("${feedback.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+                       @Value("${feedback.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${feedback.outbox.lease-ms:60000}") long leaseMs,
+                       @Value("${feedback.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+                       @Value("${feedback.outbox.max-backoff-ms:60000}") long maxBackoffMs) {
+        if (leaseMs <= sendTimeoutMs) {
+            throw new IllegalArgumentException("feedback.outbox.lease-ms must be longer than feedback.outbox.send-timeout-ms");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.feedbackEventPublisher = feedbackEventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.leaseMs = leaseMs;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.outbox.poll-interval-ms:500}")
+    public void relay() {
+        // Keep going while batches are getting through, so a backlog (including a member's queued events, which go
+        // one per batch) drains without waiting a poll interval each time. A batch that delivers nothing, e.g. while
+        // the broker is down, ends the run, and so does max-batches-per-run: under steady inflow there is always more,
+        // and the run must end so the next poll (and any other job sharing the scheduler) gets its turn.
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (relayBatch() == 0) {
+                return;
+            }
+        }
+    }
+
+    int relayBatch() {
+        Instant now = Instant.now();
+        // Postgres keeps microseconds, and reschedule matches on the stored value
+        Instant leaseExpiry = now.plusMillis(leaseMs).truncatedTo(ChronoUnit.MICROS);
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch(now, leaseExpiry));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> sent = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        send(batch, sent, failed);
+
+        // The send held no transaction and may have outlasted the lease, so failed rows are not merged back: another
+        // relay may have sent and deleted them since, and a merge would insert them again
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.deleteAllInBatch(sent);
+            for (OutboxEvent outboxEvent : failed) {
+                outboxEventRepository.reschedule(outboxEvent.getId(), leaseExpiry, outboxEvent.getAttempts(),
+                        outboxEvent.getNextAttemptAt(), outboxEvent.getLastError());
+            }
+        });
+        if (!failed.isEmpty()) {
+            log.warn("Relayed {} of {} outbox events; the rest will be retried", sent.size(), batch.size());
+        }
+        return sent.size();
+    }
+
+    // Locks the next due rows and pushes them past the lease, so no other relay picks them up while they are sent
+    private List<OutboxEvent> claimBatch(Instant now, Instant leaseExpiry) {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(now, batchSize);
+        for (OutboxEvent outboxEvent : batch) {
+            outboxEvent.setNextAttemptAt(leaseExpiry);
+        }
+        return batch;
+    }
+
+    private void send(List<OutboxEvent> batch, List<OutboxEvent> sent, List<OutboxEvent> failed) {
+        // Hand the whole batch to the producer before waiting on any of it
+        List<OutboxEvent> sendable = new ArrayList<>(batch.size());
+        List<FeedbackSubmittedEvent> events = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                events.add(objectMapper.readValue(outboxEvent.getPayload(), FeedbackSubmittedEvent.class));
+                sendable.add(outboxEvent);
+            } catch (Exception ex) {
+                markFailed(outboxEvent, ex);
+                failed.add(outboxEvent);
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<SendResult<String, FeedbackSubmittedEvent>>> futures;
+        try {
+            futures = feedbackEventPublisher.publishFeedbackEvents(events);
+        } catch (Exception ex) {
+            for (OutboxEvent outboxEvent : sendable) {
+                markFailed(outboxEvent, ex);
+                failed.add(outboxEvent);
+            }
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < sendable.size(); i++) {
+            OutboxEvent outboxEvent = sendable.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                futures.get(i).get(remaining, TimeUnit.NANOSECONDS);
+                sent.add(outboxEvent);
+                continue;
+            } catch (ExecutionException ex) {
+                markFailed(outboxEvent, ex.getCause());
+            } catch (TimeoutException ex) {
+                markFailed(outboxEvent, ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                markFailed(outboxEvent, ex);
+            }
+            failed.add(outboxEvent);
+        }
+    }
+
+    // Backs off from when the send gave up, not from when the row was claimed
+    private void markFailed(OutboxEvent outboxEvent, Throwable cause) {
+        int attempts = outboxEvent.getAttempts() + 1;
+        outboxEvent.setAttempts(attempts);
+        outboxEvent.setNextAttemptAt(Instant.now().plus(backoff(attempts)));
+        String error = String.valueOf(cause);
+        outboxEvent.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+    }
+
+    Duration backoff(int attempts) {
+        // initial * 2^(attempts - 1), capped; the shift is capped too so it cannot overflow
+        long delay = initialBackoffMs << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+}
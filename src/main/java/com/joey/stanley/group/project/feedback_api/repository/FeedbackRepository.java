@@ -1,14 +1,76 @@
 package com.joey.stanley.group.project.feedback_api.repository;
 
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
 import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, UUID> {
+// Filtered queries (provider, rating range, time window) are built from FeedbackSpecifications.
+// The read queries below select straight into FeedbackResponse: no managed entities, so no persistence-context
+// entries or dirty-checking snapshots. They run read-only, which also switches Hibernate's flush mode to MANUAL.
+public interface FeedbackRepository extends JpaRepository<Feedback, UUID>, JpaSpecificationExecutor<Feedback>,
+        FeedbackResponseQueries {
+
     List<Feedback> findByMemberId(String memberId);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse("
+            + "f.id, f.memberId, f.providerName, f.rating, f.comment, f.submittedAt) "
+            + "FROM Feedback f WHERE f.id = :id")
+    Optional<FeedbackResponse> findResponseById(@Param("id") UUID id);
+
+    // Lookup by id with a submittedAt window around it, so a partitioned table only searches the partitions it overlaps
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse("
+            + "f.id, f.memberId, f.providerName, f.rating, f.comment, f.submittedAt) "
+            + "FROM Feedback f WHERE f.id = :id AND f.submittedAt BETWEEN :from AND :to")
+    Optional<FeedbackResponse> findResponseByIdAndSubmittedAtBetween(@Param("id") UUID id,
+                                                                     @Param("from") Instant from,
+                                                                     @Param("to") Instant to);
+
+    // First page of a member's feedback, newest first; walks idx_feedback_member_submitted_id
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse("
+            + "f.id, f.memberId, f.providerName, f.rating, f.comment, f.submittedAt) "
+            + "FROM Feedback f WHERE f.memberId = :memberId "
+            + "ORDER BY f.submittedAt DESC, f.id DESC")
+    List<FeedbackResponse> findResponsesByMemberId(@Param("memberId") String memberId, Limit limit);
+
+    // Following pages: everything strictly after the cursor in (submittedAt, id) order.
+    // The plain submittedAt bound is implied by the row comparison, but only it lets Postgres prune partitions
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse("
+            + "f.id, f.memberId, f.providerName, f.rating, f.comment, f.submittedAt) "
+            + "FROM Feedback f WHERE f.memberId = :memberId AND f.submittedAt <= :submittedAt "
+            + "AND (f.submittedAt, f.id) < (:submittedAt, :id) "
+            + "ORDER BY f.submittedAt DESC, f.id DESC")
+    List<FeedbackResponse> findResponsesByMemberIdAfter(@Param("memberId") String memberId,
+                                                        @Param("submittedAt") Instant submittedAt,
+                                                        @Param("id") UUID id,
+                                                        Limit limit);
+
+    // search_vector is generated by Postgres (see db/migration/V5__feedback_search_vector.sql) and indexed by idx_feedback_search.
+    // websearch_to_tsquery accepts free text ("quoted phrases", -excluded words, or) and never fails on user input
+    @Transactional(readOnly = true)
+    @NativeQuery(value = "SELECT f.id, f.member_id, f.provider_name, f.rating, f.comment, f.submitted_at "
+            + "FROM feedback f, websearch_to_tsquery('english', :query) q "
+            + "WHERE f.search_vector @@ q "
+            + "ORDER BY ts_rank(f.search_vector, q) DESC, f.submitted_at DESC, f.id DESC "
+            + "LIMIT :limit OFFSET :offset",
+            sqlResultSetMapping = Feedback.RESPONSE_MAPPING)
+    List<FeedbackResponse> search(@Param("query") String query,
+                                  @Param("limit") int limit,
+                                  @Param("offset") int offset);
 }
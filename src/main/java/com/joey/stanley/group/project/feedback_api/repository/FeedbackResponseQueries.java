@@ -0,0 +1,14 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Specification queries that select straight into FeedbackResponse; JpaSpecificationExecutor can only return entities
+public interface FeedbackResponseQueries {
+
+    List<FeedbackResponse> findResponses(Specification<Feedback> specification, Sort sort, int limit);
+}
@@ -0,0 +1,43 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Picked up by Spring Data as the implementation of FeedbackResponseQueries on FeedbackRepository
+class FeedbackResponseQueriesImpl implements FeedbackResponseQueries {
+
+    private final EntityManager entityManager;
+
+    FeedbackResponseQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FeedbackResponse> findResponses(Specification<Feedback> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FeedbackResponse> query = cb.createQuery(FeedbackResponse.class);
+        Root<Feedback> root = query.from(Feedback.class);
+        query.select(cb.construct(FeedbackResponse.class, root.get("id"), root.get("memberId"),
+                root.get("providerName"), root.get("rating"), root.get("comment"), root.get("submittedAt")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Pieces of the filtered feedback query. Each one is a plain comparison on an indexed column, so Postgres turns
+// them into index range conditions instead of filtering rows after the fact
+public final class FeedbackSpecifications {
+
+    // Newest first; matches the trailing (submitted_at, id) columns of the feedback indexes, so no sort step is needed
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("submittedAt"), Sort.Order.desc("id"));
+
+    private FeedbackSpecifications() {
+    }
+
+    public static Specification<Feedback> providerNameIs(String providerName) {
+        return (root, query, cb) -> cb.equal(root.get("providerName"), providerName);
+    }
+
+    // Ratings are inlined as SQL literals rather than bound: there are only five values, and a literal lets the
+    // planner prove "rating <= 2" even in a cached plan, which it needs to pick idx_feedback_provider_low_rating
+    public static Specification<Feedback> ratingAtLeast(int minRating) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rating"), cb.literal(minRating));
+    }
+
+    public static Specification<Feedback> ratingAtMost(int maxRating) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("rating"), cb.literal(maxRating));
+    }
+
+    public static Specification<Feedback> submittedAtOrAfter(Instant from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("submittedAt"), from);
+    }
+
+    public static Specification<Feedback> submittedBefore(Instant to) {
+        return (root, query, cb) -> cb.lessThan(root.get("submittedAt"), to);
+    }
+
+    // Keyset position, as submittedAt <= x AND (submittedAt < x OR id < y): the first half bounds the index range,
+    // the second drops the rows at x that were already returned
+    public static Specification<Feedback> after(Instant submittedAt, UUID id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("submittedAt"), submittedAt),
+                cb.or(cb.lessThan(root.get("submittedAt"), submittedAt),
+                        cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import com.joey.stanley.group.project.feedback_api.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Returns 0 when the key is already taken. If another transaction holds the key uncommitted,
+    // this waits for it and only claims the key if that transaction rolls back.
+    @Modifying
+    @Query(value = "INSERT INTO feedback_idempotency (idempotency_key, feedback_id, created_at, request_hash) "
+            + "VALUES (:idempotencyKey, :feedbackId, :createdAt, :requestHash) "
+            + "ON CONFLICT (idempotency_key) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("idempotencyKey") String idempotencyKey,
+                       @Param("feedbackId") UUID feedbackId,
+                       @Param("createdAt") Instant createdAt,
+                       @Param("requestHash") String requestHash);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
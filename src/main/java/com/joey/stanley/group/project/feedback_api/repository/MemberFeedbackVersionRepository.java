@@ -0,0 +1,25 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import com.joey.stanley.group.project.feedback_api.entity.MemberFeedbackVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MemberFeedbackVersionRepository extends JpaRepository<MemberFeedbackVersion, String> {
+
+    @Query("SELECT v.version FROM MemberFeedbackVersion v WHERE v.memberId = :memberId")
+    Optional<Long> findVersion(@Param("memberId") String memberId);
+
+    // Starts the member at 1 on first sight, otherwise adds one, in one atomic statement
+    @Modifying
+    @Query(value = "INSERT INTO member_feedback_version (member_id, version) VALUES (:memberId, 1) "
+            + "ON CONFLICT (member_id) DO UPDATE SET version = member_feedback_version.version + 1",
+            nativeQuery = true)
+    void bump(@Param("memberId") String memberId);
+
+}
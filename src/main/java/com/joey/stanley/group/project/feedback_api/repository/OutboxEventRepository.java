@@ -0,0 +1,38 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import com.joey.stanley.group.project.feedback_api.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // Only each member's oldest pending event is eligible, so a later one never overtakes an event that is waiting
+    // to be retried or is still in flight. SKIP LOCKED lets several relay instances claim rows without handing out
+    // the same one twice; since a member only ever has one eligible row, they cannot split a member between them.
+    @Query(value = "SELECT * FROM feedback_outbox o WHERE o.next_attempt_at <= :now "
+            + "AND NOT EXISTS (SELECT 1 FROM feedback_outbox older WHERE older.member_id = o.member_id "
+            + "AND (older.created_at, older.id) < (o.created_at, o.id)) "
+            + "ORDER BY o.next_attempt_at LIMIT :limit FOR UPDATE OF o SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Puts a failed row back for a later attempt, but only while it still carries this relay's lease. A row that was
+    // deleted or claimed again by another relay after the lease ran out is left alone (0 rows).
+    @Modifying
+    @Query(value = "UPDATE feedback_outbox SET attempts = :attempts, next_attempt_at = :nextAttemptAt, last_error = :lastError "
+            + "WHERE id = :id AND next_attempt_at = :leaseExpiry",
+            nativeQuery = true)
+    int reschedule(@Param("id") UUID id,
+                   @Param("leaseExpiry") Instant leaseExpiry,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt,
+                   @Param("lastError") String lastError);
+}
@@ -0,0 +1,40 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import com.joey.stanley.group.project.feedback_api.entity.ProviderRatingStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProviderRatingStatsRepository extends JpaRepository<ProviderRatingStats, String> {
+
+    List<ProviderRatingStats> findAllByOrderByFeedbackCountDesc(Limit limit);
+
+    // Adds the deltas to the provider's row, creating it on first sight, in one atomic statement
+    @Modifying
+    @Query(value = "INSERT INTO provider_rating_stats (provider_name, feedback_count, rating_sum, "
+            + "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count) "
+            + "VALUES (:providerName, :count, :ratingSum, :one, :two, :three, :four, :five) "
+            + "ON CONFLICT (provider_name) DO UPDATE SET "
+            + "feedback_count = provider_rating_stats.feedback_count + EXCLUDED.feedback_count, "
+            + "rating_sum = provider_rating_stats.rating_sum + EXCLUDED.rating_sum, "
+            + "one_star_count = provider_rating_stats.one_star_count + EXCLUDED.one_star_count, "
+            + "two_star_count = provider_rating_stats.two_star_count + EXCLUDED.two_star_count, "
+            + "three_star_count = provider_rating_stats.three_star_count + EXCLUDED.three_star_count, "
+            + "four_star_count = provider_rating_stats.four_star_count + EXCLUDED.four_star_count, "
+            + "five_star_count = provider_rating_stats.five_star_count + EXCLUDED.five_star_count",
+            nativeQuery = true)
+    void increment(@Param("providerName") String providerName,
+                   @Param("count") long count,
+                   @Param("ratingSum") long ratingSum,
+                   @Param("one") long one,
+                   @Param("two") long two,
+                   @Param("three") long three,
+                   @Param("four") long four,
+                   @Param("five") long five);
+}
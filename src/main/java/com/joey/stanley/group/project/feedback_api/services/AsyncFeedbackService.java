@@ -0,0 +1,108 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.config.FeedbackExecutorConfig;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Hands createFeedback off to the bounded write executor so the request thread is released while the insert runs,
+// or, with feedback.group-commit.enabled, to the group-commit writer so it shares a transaction with other creates
+@Service
+public class AsyncFeedbackService {
+
+    private final FeedbackService feedbackService;
+
+    private final AsyncTaskExecutor feedbackWriteExecutor;
+
+    private final Optional<GroupCommitFeedbackWriter> groupCommitWriter;
+
+    private final IdempotencyService idempotencyService;
+
+    private final Counter rejectedCounter;
+
+    private final Duration retryAfter;
+
+    public AsyncFeedbackService(FeedbackService feedbackService,
+                                @Qualifier(FeedbackExecutorConfig.FEEDBACK_WRITE_EXECUTOR) AsyncTaskExecutor feedbackWriteExecutor,
+                                Optional<GroupCommitFeedbackWriter> groupCommitWriter,
+                                IdempotencyService idempotencyService,
+                                MeterRegistry meterRegistry,
+                                @Value("${feedback.async.retry-after:1s}") Duration retryAfter) {
+        this.feedbackService = feedbackService;
+        this.feedbackWriteExecutor = feedbackWriteExecutor;
+        this.groupCommitWriter = groupCommitWriter;
+        this.idempotencyService = idempotencyService;
+        this.rejectedCounter = Counter.builder("feedback.async.rejected")
+                .description("Async feedback creates turned away because the write executor was saturated")
+                .register(meterRegistry);
+        this.retryAfter = retryAfter;
+    }
+
+    public CompletableFuture<FeedbackResponse> createFeedback(FeedbackRequest request)
+            throws ValidationException, ServiceBusyException {
+        //Reject bad input on the request thread, without spending a slot in the executor on it
+        feedbackService.validate(request);
+        return submit(request, null);
+    }
+
+    //Same as POST /feedback with an Idempotency-Key: a repeat is answered from the original without being queued, and
+    //the key is claimed in the transaction that stores the feedback, on whichever path (executor or group commit) it takes.
+    //A key reused with a different body fails with IdempotencyKeyReusedException, either here or through the future.
+    public CompletableFuture<IdempotentFeedback> createFeedback(FeedbackRequest request, String idempotencyKey)
+            throws ValidationException, IdempotencyKeyReusedException, ServiceBusyException {
+        idempotencyService.validateKey(idempotencyKey);
+        feedbackService.validate(request);
+        IdempotencyClaim claim = new IdempotencyClaim(idempotencyKey, IdempotencyService.requestHash(request));
+        Optional<IdempotentFeedback> replay = idempotencyService.findReplay(claim);
+        if (replay.isPresent()) {
+            return CompletableFuture.completedFuture(replay.get());
+        }
+
+        return submit(request, claim).handle((created, ex) -> {
+            if (ex == null) {
+                return idempotencyService.recordCreated(claim, created);
+            }
+            Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+            if (cause instanceof DuplicateIdempotencyKeyException duplicate) {
+                try {
+                    return idempotencyService.replayDuplicate(claim, duplicate);
+                } catch (IdempotencyKeyReusedException reused) {
+                    throw new CompletionException(reused);
+                }
+            }
+            throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+        });
+    }
+
+    private CompletableFuture<FeedbackResponse> submit(FeedbackRequest request, IdempotencyClaim claim)
+            throws ServiceBusyException {
+        if (groupCommitWriter.isPresent()) {
+            return groupCommitWriter.get().submit(request, claim);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return claim == null
+                            ? feedbackService.createFeedback(request)
+                            : feedbackService.createFeedback(request, claim.idempotencyKey(), claim.requestHash());
+                } catch (ValidationException ex) {
+                    throw new CompletionException(ex);
+                }
+            }, feedbackWriteExecutor);
+        } catch (TaskRejectedException ex) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Too many feedback submissions in flight, retry later", retryAfter);
+        }
+    }
+}
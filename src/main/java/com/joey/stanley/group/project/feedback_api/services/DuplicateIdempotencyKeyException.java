@@ -0,0 +1,8 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+// Thrown inside the create transaction when another request already claimed the key, so everything it wrote rolls back
+class DuplicateIdempotencyKeyException extends RuntimeException {
+    DuplicateIdempotencyKeyException(String idempotencyKey) {
+        super("Idempotency key already used: " + idempotencyKey);
+    }
+}
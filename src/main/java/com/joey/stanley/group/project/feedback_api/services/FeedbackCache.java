@@ -0,0 +1,107 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Feedback never changes once written, so lookups by id can be served from memory.
+// Unknown ids are cached too (as empty), but only briefly, so probing for missing ids stays cheap.
+@Component
+public class FeedbackCache {
+
+    public static final String CACHE_NAME = "feedbackById";
+
+    // Async so that a miss only installs a future under the map's bin lock; the (blocking) load runs outside it,
+    // which keeps virtual threads from pinning their carrier while waiting on JDBC
+    private final AsyncCache<UUID, Optional<FeedbackResponse>> cache;
+
+    @Autowired
+    public FeedbackCache(MeterRegistry meterRegistry,
+                         @Value("${feedback.cache.max-size:10000}") long maxSize,
+                         @Value("${feedback.cache.ttl:10m}") Duration ttl,
+                         @Value("${feedback.cache.negative-ttl:5s}") Duration negativeTtl) {
+        this(meterRegistry, maxSize, ttl, negativeTtl, Ticker.systemTicker());
+    }
+
+    FeedbackCache(MeterRegistry meterRegistry, long maxSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PresenceExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Concurrent misses for the same id share a single load, run by whichever caller got there first
+    public Optional<FeedbackResponse> get(UUID id, Function<UUID, Optional<FeedbackResponse>> loader) {
+        CompletableFuture<Optional<FeedbackResponse>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<FeedbackResponse>> future = cache.get(id, (key, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(loader.apply(id));
+            } catch (RuntimeException ex) {
+                // Failed loads are dropped from the cache, so the next caller retries
+                created.completeExceptionally(ex);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void put(FeedbackResponse feedback) {
+        cache.put(feedback.getId(), CompletableFuture.completedFuture(Optional.of(feedback)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackCreated(FeedbackCreatedEvent event) {
+        put(event.feedback());
+    }
+
+    private static class PresenceExpiry implements Expiry<UUID, Optional<FeedbackResponse>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        PresenceExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<FeedbackResponse> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<FeedbackResponse> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Optional<FeedbackResponse> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
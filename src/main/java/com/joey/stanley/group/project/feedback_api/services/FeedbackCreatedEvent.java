@@ -0,0 +1,7 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+
+// Published inside the creating transaction; listen with @TransactionalEventListener to act once it commits
+public record FeedbackCreatedEvent(FeedbackResponse feedback) {
+}
@@ -0,0 +1,225 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Full exports for one member or provider. Rows are written out as they come off the cursor, fetch-size at a time,
+// so memory use doesn't depend on how many rows match. Each export holds a pooled connection and an open transaction until
+// the client has read the last row, so only max-concurrent run at once and the rest are turned away.
+@Service
+public class FeedbackExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String CSV_HEADER = "id,memberId,providerName,rating,comment,submittedAt\n";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Semaphore slots;
+
+    private final Duration timeout;
+
+    private final Duration retryAfter;
+
+    public FeedbackExportService(DataSource dataSource,
+                                 ObjectMapper objectMapper,
+                                 @Value("${feedback.export.fetch-size:1000}") int fetchSize,
+                                 @Value("${feedback.export.max-concurrent:4}") int maxConcurrent,
+                                 @Value("${feedback.export.timeout:30m}") Duration timeout,
+                                 @Value("${feedback.export.retry-after:30s}") Duration retryAfter) {
+        //Inside a transaction the Postgres driver then reads through a cursor instead of loading the whole result
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(maxConcurrent);
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+    }
+
+    //How long one export may take to stream, in place of the default async request timeout
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    //Call before handing out the response, and close the slot on every way the request can end
+    public Slot reserve() throws ServiceBusyException {
+        if (!slots.tryAcquire()) {
+            throw new ServiceBusyException("Too many exports running, retry later", retryAfter);
+        }
+        return new Slot(slots::release);
+    }
+
+    //One running export. Only the first close gives the slot back, so every path that can end the export may close it.
+    public static final class Slot implements AutoCloseable {
+
+        private final Runnable release;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        public Slot(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+
+    public static Format format(String format) throws ValidationException {
+        for (Format candidate : Format.values()) {
+            if (candidate.getExtension().equalsIgnoreCase(format)) {
+                return candidate;
+            }
+        }
+        throw new ValidationException("Parameter 'format' must be ndjson or csv");
+    }
+
+    public static void validate(String memberId, String providerName, Instant from, Instant to) throws ValidationException {
+        if (memberId == null && providerName == null) {
+            throw new ValidationException("Parameter 'memberId' or 'providerName' is required");
+        }
+        if (memberId != null && memberId.length() > 36) {
+            throw new ValidationException("Parameter 'memberId' must be ≤ 36 characters");
+        }
+        if (providerName != null && providerName.length() > 80) {
+            throw new ValidationException("Parameter 'providerName' must be ≤ 80 characters");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("Parameter 'from' must be before 'to'");
+        }
+    }
+
+    //Oldest first, which walks the member or provider index forward, so the first rows go out before the scan ends
+    @Transactional(readOnly = true)
+    public void export(String memberId, String providerName, Instant from, Instant to, Format format, OutputStream out)
+            throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT id, member_id, provider_name, rating, comment, submitted_at FROM feedback WHERE true");
+        List<Object> params = new ArrayList<>();
+        if (memberId != null) {
+            sql.append(" AND member_id = ?");
+            params.add(memberId);
+        }
+        if (providerName != null) {
+            sql.append(" AND provider_name = ?");
+            params.add(providerName);
+        }
+        if (from != null) {
+            sql.append(" AND submitted_at >= ?");
+            params.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" AND submitted_at < ?");
+            params.add(Timestamp.from(to));
+        }
+        sql.append(" ORDER BY submitted_at, id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        try {
+            jdbcTemplate.query(sql.toString(), rs -> {
+                FeedbackResponse row = new FeedbackResponse();
+                row.setId(rs.getObject("id", UUID.class));
+                row.setMemberId(rs.getString("member_id"));
+                row.setProviderName(rs.getString("provider_name"));
+                row.setRating(rs.getInt("rating"));
+                row.setComment(rs.getString("comment"));
+                row.setSubmittedAt(rs.getTimestamp("submitted_at").toInstant());
+                try {
+                    if (format == Format.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                } catch (IOException ex) {
+                    //Usually the client went away; stop reading rows nobody will receive
+                    throw new UncheckedIOException(ex);
+                }
+            }, params.toArray());
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, FeedbackResponse row) throws IOException {
+        writer.write(row.getId().toString());
+        writer.write(',');
+        writeCsvField(writer, row.getMemberId());
+        writer.write(',');
+        writeCsvField(writer, row.getProviderName());
+        writer.write(',');
+        writer.write(Integer.toString(row.getRating()));
+        writer.write(',');
+        writeCsvField(writer, row.getComment());
+        writer.write(',');
+        writer.write(row.getSubmittedAt().toString());
+        writer.write('\n');
+    }
+
+    //RFC 4180: quote fields holding a separator, quote or line break, and double any quotes inside.
+    //Cells a spreadsheet would read as a formula get a leading ' so they open as plain text.
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,286 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps feedback range-partitioned by month of submitted_at. On its first run it converts the plain table the migrations
+// created: the existing table becomes the feedback_legacy partition, covering everything up to the end of the current
+// month, so no rows are copied. The legacy table's share of the new primary key and a check matching its partition bound
+// are built beforehand without blocking writes, so the conversion itself only changes the catalog. After that it keeps
+// the coming months' partitions created ahead of time, and retires whole partitions once they pass the retention window,
+// instead of deleting rows one by one.
+@Service
+@ConditionalOnProperty(name = "feedback.partitioning.enabled", havingValue = "true")
+public class FeedbackPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedbackPartitionManager.class);
+
+    static final String LEGACY_PARTITION = "feedback_legacy";
+
+    private static final String LEGACY_PKEY = LEGACY_PARTITION + "_pkey";
+
+    private static final String LEGACY_BOUND = LEGACY_PARTITION + "_bound";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Any constant works, as long as every instance uses the same one: only one of them converts or maintains at a time
+    private static final long LOCK_KEY = 7_346_521_001L;
+
+    // Bounds come back as text, e.g. FOR VALUES FROM ('2025-01-01 00:00:00+00') TO ('2025-02-01 00:00:00+00');
+    // MINVALUE has no quotes and comes back as a null lower bound
+    private static final String PARTITIONS_QUERY = "SELECT c.relname, "
+            + "(regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \\(''([^'']+)''\\)'))[1]::timestamptz AS lower_bound, "
+            + "(regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz AS upper_bound "
+            + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = 'feedback'::regclass "
+            + "ORDER BY upper_bound";
+
+    public enum RetentionAction {
+        // Unhook the partition but keep its table, e.g. to archive it before dropping it by hand
+        DETACH,
+        DROP
+    }
+
+    record Partition(String name, Instant lowerBound, Instant upperBound) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int premadeMonths;
+
+    private final int retentionMonths;
+
+    private final RetentionAction retentionAction;
+
+    private final Clock clock;
+
+    @Autowired
+    public FeedbackPartitionManager(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${feedback.partitioning.premade-months:3}") int premadeMonths,
+                                    @Value("${feedback.partitioning.retention-months:0}") int retentionMonths,
+                                    @Value("${feedback.partitioning.retention-action:detach}") RetentionAction retentionAction) {
+        this(jdbcTemplate, transactionManager, premadeMonths, retentionMonths, retentionAction, Clock.systemUTC());
+    }
+
+    FeedbackPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, int premadeMonths,
+                             int retentionMonths, RetentionAction retentionAction, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premadeMonths = premadeMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+        this.clock = clock;
+    }
+
+    // Also runs right after startup, which is when the conversion happens
+    @Scheduled(fixedDelayString = "${feedback.partitioning.maintenance-interval-ms:21600000}")
+    public void maintain() {
+        YearMonth currentMonth = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        Instant legacyBound = startOf(currentMonth.plusMonths(1));
+        if (!isPartitioned()) {
+            prepareConversion(legacyBound);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", LOCK_KEY);
+            if (!isPartitioned()) {
+                convert(legacyBound);
+            }
+            createAhead(currentMonth);
+            if (retentionMonths > 0) {
+                retire(startOf(currentMonth.minusMonths(retentionMonths)));
+            }
+        });
+    }
+
+    boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = 'feedback'::regclass", String.class);
+        return "p".equals(kind);
+    }
+
+    List<Partition> partitions() {
+        return jdbcTemplate.query(PARTITIONS_QUERY, (rs, rowNum) -> new Partition(rs.getString("relname"),
+                toInstant(rs.getTimestamp("lower_bound")), toInstant(rs.getTimestamp("upper_bound"))));
+    }
+
+    // The slow parts of the conversion, none of which blocks reads or writes for longer than it takes to update the catalog.
+    // CONCURRENTLY cannot run in a transaction, so this holds the session-level advisory lock on one autocommit connection.
+    private void prepareConversion(Instant legacyBound) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+                try {
+                    if (!isPartitioned(statement)) {
+                        // What ATTACH adopts as the partition's share of the (id, submitted_at) primary key.
+                        // A failed CONCURRENTLY build leaves an invalid index behind that has to go first.
+                        if (Boolean.FALSE.equals(indexValid(statement))) {
+                            statement.execute("DROP INDEX CONCURRENTLY " + LEGACY_PKEY);
+                        }
+                        statement.execute("CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS " + LEGACY_PKEY + " ON feedback (id, submitted_at)");
+                        // With a valid check that implies the partition bound, ATTACH skips scanning the table.
+                        // NOT VALID only takes the lock for a moment; VALIDATE scans while writes go on.
+                        statement.execute("ALTER TABLE feedback DROP CONSTRAINT IF EXISTS " + LEGACY_BOUND);
+                        statement.execute("ALTER TABLE feedback ADD CONSTRAINT " + LEGACY_BOUND
+                                + " CHECK (submitted_at < '" + legacyBound + "') NOT VALID");
+                        statement.execute("ALTER TABLE feedback VALIDATE CONSTRAINT " + LEGACY_BOUND);
+                    }
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    private static boolean isPartitioned(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT relkind::text FROM pg_class WHERE oid = 'feedback'::regclass")) {
+            return rs.next() && "p".equals(rs.getString(1));
+        }
+    }
+
+    // Null when there is no such index yet
+    private static Boolean indexValid(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass('" + LEGACY_PKEY + "')")) {
+            return rs.next() ? rs.getBoolean(1) : null;
+        }
+    }
+
+    // Runs under ACCESS EXCLUSIVE, but only touches the catalog: every index and the bound check already exist
+    private void convert(Instant legacyBound) {
+        log.info("Converting feedback to a table partitioned by month of submitted_at");
+        jdbcTemplate.execute("LOCK TABLE feedback IN ACCESS EXCLUSIVE MODE");
+
+        // Index names are unique per schema, so the old table's indexes step aside for the new parent's.
+        // Their definitions (everything the migrations declared) are replayed on the parent, where they cascade
+        // to every partition; the legacy table's own copies get attached to them instead of being rebuilt.
+        Map<String, String> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT i.relname, pg_get_indexdef(x.indexrelid) AS def FROM pg_index x "
+                        + "JOIN pg_class i ON i.oid = x.indexrelid WHERE x.indrelid = 'feedback'::regclass AND NOT x.indisprimary "
+                        + "AND i.relname <> '" + LEGACY_PKEY + "'",
+                rs -> {
+                    indexes.put(rs.getString("relname"), rs.getString("def"));
+                });
+        jdbcTemplate.execute("ALTER TABLE feedback RENAME TO " + LEGACY_PARTITION);
+        // The prebuilt unique index becomes the partition's primary key, which ATTACH adopts instead of building one.
+        // The columns are already NOT NULL, so this does not scan either.
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT feedback_pkey");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ADD CONSTRAINT " + LEGACY_PKEY + " PRIMARY KEY USING INDEX " + LEGACY_PKEY);
+        for (String index : indexes.keySet()) {
+            jdbcTemplate.execute("ALTER INDEX " + index + " RENAME TO " + legacyName(index));
+        }
+
+        jdbcTemplate.execute("CREATE TABLE feedback (LIKE " + LEGACY_PARTITION
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED) PARTITION BY RANGE (submitted_at)");
+        // LIKE copied the bound check too, which would refuse every later month
+        jdbcTemplate.execute("ALTER TABLE feedback DROP CONSTRAINT " + LEGACY_BOUND);
+        // A partitioned table's primary key has to include the partition key; ids are still unique on their own
+        jdbcTemplate.execute("ALTER TABLE feedback ADD CONSTRAINT feedback_pkey PRIMARY KEY (id, submitted_at)");
+        for (String definition : indexes.values()) {
+            jdbcTemplate.execute(definition);
+        }
+        jdbcTemplate.execute("ALTER TABLE feedback ATTACH PARTITION " + LEGACY_PARTITION
+                + " FOR VALUES FROM (MINVALUE) TO ('" + legacyBound + "')");
+        // The partition bound enforces the same thing from here on
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT " + LEGACY_BOUND);
+    }
+
+    private void createAhead(YearMonth currentMonth) {
+        List<Partition> existing = partitions();
+        for (int i = 0; i <= premadeMonths; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            Instant from = startOf(month);
+            Instant to = startOf(month.plusMonths(1));
+            boolean covered = existing.stream().anyMatch(partition ->
+                    (partition.lowerBound() == null || partition.lowerBound().isBefore(to))
+                            && partition.upperBound() != null && partition.upperBound().isAfter(from));
+            if (!covered) {
+                String name = "feedback_p" + PARTITION_SUFFIX.format(month);
+                jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF feedback FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                log.info("Created partition {} for {}", name, month);
+            }
+        }
+    }
+
+    private void retire(Instant cutoff) {
+        for (Partition partition : partitions()) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            forgetRows(partition.name());
+            if (retentionAction == RetentionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+            } else {
+                jdbcTemplate.execute("ALTER TABLE feedback DETACH PARTITION " + partition.name());
+            }
+            log.info("Retired partition {} (before {}): {}", partition.name(), partition.upperBound(), retentionAction);
+        }
+    }
+
+    // Takes the partition's rows out of everything kept alongside feedback, in the transaction that retires it.
+    // Rows are locked in key order first, as inserts do, so a concurrent insert cannot deadlock with this.
+    private void forgetRows(String partition) {
+        jdbcTemplate.queryForList("SELECT provider_name FROM provider_rating_stats WHERE provider_name IN "
+                + "(SELECT DISTINCT provider_name FROM " + partition + ") ORDER BY provider_name FOR UPDATE", String.class);
+        jdbcTemplate.update("UPDATE provider_rating_stats s SET "
+                + "feedback_count = s.feedback_count - r.feedback_count, "
+                + "rating_sum = s.rating_sum - r.rating_sum, "
+                + "one_star_count = s.one_star_count - r.one_star_count, "
+                + "two_star_count = s.two_star_count - r.two_star_count, "
+                + "three_star_count = s.three_star_count - r.three_star_count, "
+                + "four_star_count = s.four_star_count - r.four_star_count, "
+                + "five_star_count = s.five_star_count - r.five_star_count "
+                + "FROM (SELECT provider_name, count(*) AS feedback_count, sum(rating) AS rating_sum, "
+                + "count(*) FILTER (WHERE rating = 1) AS one_star_count, "
+                + "count(*) FILTER (WHERE rating = 2) AS two_star_count, "
+                + "count(*) FILTER (WHERE rating = 3) AS three_star_count, "
+                + "count(*) FILTER (WHERE rating = 4) AS four_star_count, "
+                + "count(*) FILTER (WHERE rating = 5) AS five_star_count "
+                + "FROM " + partition + " GROUP BY provider_name) r "
+                + "WHERE s.provider_name = r.provider_name");
+        // A provider with nothing left is gone, the same as one that never had feedback
+        jdbcTemplate.update("DELETE FROM provider_rating_stats WHERE feedback_count <= 0");
+
+        //Only the members who had rows here just lost some without an insert, so only their ETags must change
+        jdbcTemplate.queryForList("SELECT member_id FROM member_feedback_version WHERE member_id IN "
+                + "(SELECT DISTINCT member_id FROM " + partition + ") ORDER BY member_id FOR UPDATE", String.class);
+        jdbcTemplate.update("UPDATE member_feedback_version SET version = version + 1 WHERE member_id IN "
+                + "(SELECT DISTINCT member_id FROM " + partition + ")");
+    }
+
+    private static Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private static String legacyName(String index) {
+        String name = LEGACY_PARTITION + "_" + index.replaceFirst("^idx_feedback_", "");
+        return name.length() > 63 ? name.substring(0, 63) : name;
+    }
+}
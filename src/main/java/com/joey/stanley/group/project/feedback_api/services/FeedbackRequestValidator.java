@@ -0,0 +1,76 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError.OUT_OF_RANGE;
+import static com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError.REQUIRED;
+import static com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError.TOO_LONG;
+
+// Checks every field of a FeedbackRequest and returns all failures together, so a client can fix them in one round trip.
+// Plain getter calls and comparisons: no reflection, and nothing is thrown. The errors are shared constants, so a valid
+// request allocates nothing and a rejected one only the list holding them.
+@Component
+public class FeedbackRequestValidator {
+
+    static final int MEMBER_ID_MAX_LENGTH = 36;
+
+    static final int PROVIDER_NAME_MAX_LENGTH = 80;
+
+    static final int COMMENT_MAX_LENGTH = 200;
+
+    private static final FieldValidationError MEMBER_ID_REQUIRED =
+            new FieldValidationError("memberId", REQUIRED, "Field 'memberId' is required");
+    private static final FieldValidationError MEMBER_ID_TOO_LONG =
+            new FieldValidationError("memberId", TOO_LONG, "Field 'memberId' must be ≤ " + MEMBER_ID_MAX_LENGTH + " characters");
+    private static final FieldValidationError PROVIDER_NAME_REQUIRED =
+            new FieldValidationError("providerName", REQUIRED, "Field 'providerName' is required");
+    private static final FieldValidationError PROVIDER_NAME_TOO_LONG =
+            new FieldValidationError("providerName", TOO_LONG, "Field 'providerName' must be ≤ " + PROVIDER_NAME_MAX_LENGTH + " characters");
+    private static final FieldValidationError RATING_OUT_OF_RANGE =
+            new FieldValidationError("rating", OUT_OF_RANGE, "Field 'rating' must be an integer between 1 and 5");
+    private static final FieldValidationError COMMENT_REQUIRED =
+            new FieldValidationError("comment", REQUIRED, "Field 'comment' is required");
+    private static final FieldValidationError COMMENT_TOO_LONG =
+            new FieldValidationError("comment", TOO_LONG, "Field 'comment' must be ≤ " + COMMENT_MAX_LENGTH + " characters");
+
+    //Empty when the request is valid
+    public List<FieldValidationError> validate(FeedbackRequest request) {
+        List<FieldValidationError> errors = null;
+        String memberId = request.getMemberId();
+        if (memberId == null) {
+            errors = add(errors, MEMBER_ID_REQUIRED);
+        } else if (memberId.length() > MEMBER_ID_MAX_LENGTH) {
+            errors = add(errors, MEMBER_ID_TOO_LONG);
+        }
+        String providerName = request.getProviderName();
+        if (providerName == null) {
+            errors = add(errors, PROVIDER_NAME_REQUIRED);
+        } else if (providerName.length() > PROVIDER_NAME_MAX_LENGTH) {
+            errors = add(errors, PROVIDER_NAME_TOO_LONG);
+        }
+        if (request.getRating() < 1 || request.getRating() > 5) {
+            errors = add(errors, RATING_OUT_OF_RANGE);
+        }
+        //The column is NOT NULL; caught here it rejects one item instead of failing a whole batch's insert
+        String comment = request.getComment();
+        if (comment == null) {
+            errors = add(errors, COMMENT_REQUIRED);
+        } else if (comment.length() > COMMENT_MAX_LENGTH) {
+            errors = add(errors, COMMENT_TOO_LONG);
+        }
+        return errors == null ? List.of() : errors;
+    }
+
+    private static List<FieldValidationError> add(List<FieldValidationError> errors, FieldValidationError error) {
+        if (errors == null) {
+            errors = new ArrayList<>(4);
+        }
+        errors.add(error);
+        return errors;
+    }
+}
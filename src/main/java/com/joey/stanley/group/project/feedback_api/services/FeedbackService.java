@@ -1,70 +1,374 @@
 package com.joey.stanley.group.project.feedback_api.services;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.UUID;
 
+import com.joey.stanley.group.project.feedback_api.dtos.BatchFeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.dtos.BatchFeedbackResult;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackCursor;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackFilter;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackPage;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError;
 import com.joey.stanley.group.project.feedback_api.entity.Feedback;
-import com.joey.stanley.group.project.feedback_api.messaging.FeedbackEventPublisher;
+import com.joey.stanley.group.project.feedback_api.entity.UuidV7Generator;
+import com.joey.stanley.group.project.feedback_api.messaging.FeedbackOutbox;
 import com.joey.stanley.group.project.feedback_api.repository.FeedbackRepository;
+import com.joey.stanley.group.project.feedback_api.repository.FeedbackSpecifications;
+import com.joey.stanley.group.project.feedback_api.repository.IdempotencyRecordRepository;
+import com.joey.stanley.group.project.feedback_api.repository.MemberFeedbackVersionRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+//Every public method gets a feedback.service timer, tagged with the method name
+@Timed("feedback.service")
 @Service
 public class FeedbackService {
 
+    //How far submittedAt may be from the time in a v7 id: both are taken while the same insert is being flushed
+    private static final Duration ID_TIMESTAMP_SLACK = Duration.ofDays(1);
+
     private final FeedbackRepository feedbackRepository;
 
 
-    private final FeedbackEventPublisher feedbackEventPublisher;
+    private final FeedbackOutbox feedbackOutbox;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final FeedbackCache feedbackCache;
+
+    private final ProviderStatsService providerStatsService;
+
+    private final MemberFeedbackVersionRepository memberFeedbackVersionRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final FeedbackRequestValidator feedbackRequestValidator;
+
+    private final ValidationMetrics validationMetrics;
+
+    private final int maxBatchSize;
+
+    private final int defaultPageSize;
+
+    private final int maxPageSize;
+
+    private final int maxSearchResults;
+
+    private final int retentionMonths;
 
     // Constructor
     public FeedbackService(FeedbackRepository feedbackRepository,
-                           FeedbackEventPublisher feedbackEventPublisher) {
+                           FeedbackOutbox feedbackOutbox,
+                           IdempotencyRecordRepository idempotencyRecordRepository,
+                           FeedbackCache feedbackCache,
+                           ProviderStatsService providerStatsService,
+                           MemberFeedbackVersionRepository memberFeedbackVersionRepository,
+                           ApplicationEventPublisher applicationEventPublisher,
+                           FeedbackRequestValidator feedbackRequestValidator,
+                           ValidationMetrics validationMetrics,
+                           @Value("${feedback.batch.max-size:1000}") int maxBatchSize,
+                           @Value("${feedback.page.default-size:50}") int defaultPageSize,
+                           @Value("${feedback.page.max-size:500}") int maxPageSize,
+                           @Value("${feedback.search.max-results:1000}") int maxSearchResults,
+                           @Value("${feedback.partitioning.enabled:false}") boolean partitioningEnabled,
+                           @Value("${feedback.partitioning.retention-months:0}") int retentionMonths) {
         this.feedbackRepository = feedbackRepository;
-        this.feedbackEventPublisher = feedbackEventPublisher;
+        this.feedbackOutbox = feedbackOutbox;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.feedbackCache = feedbackCache;
+        this.providerStatsService = providerStatsService;
+        this.memberFeedbackVersionRepository = memberFeedbackVersionRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.feedbackRequestValidator = feedbackRequestValidator;
+        this.validationMetrics = validationMetrics;
+        this.maxBatchSize = maxBatchSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxSearchResults = maxSearchResults;
+        //Retention only ever runs on a partitioned table
+        this.retentionMonths = partitioningEnabled ? retentionMonths : 0;
+    }
+
+    //Every failure is counted before being thrown as one ValidationException. AsyncFeedbackService calls this too, on the
+    //request thread, before queueing anything
+    void validate(FeedbackRequest request) throws ValidationException {
+        List<FieldValidationError> errors = feedbackRequestValidator.validate(request);
+        if (!errors.isEmpty()) {
+            validationMetrics.record(errors);
+            throw new ValidationException(errors);
+        }
     }
 
+    @Transactional
     public FeedbackResponse createFeedback(FeedbackRequest request) throws ValidationException {
+        return createFeedback(request, null, null);
+    }
+
+    //Claims the idempotency key (when given) in the same transaction as the feedback, so a retry can never create a second row.
+    //requestHash is stored with the key so IdempotencyService can tell a retry from a different request reusing it
+    @Transactional
+    public FeedbackResponse createFeedback(FeedbackRequest request, String idempotencyKey, String requestHash) throws ValidationException {
         //Validation
-        if(request.getMemberId() == null || request.getMemberId().length() > 36){
-            throw new ValidationException("Field 'memberId' must be ≤ 36 characters or not null");
-        }
-        if (request.getProviderName() == null || request.getProviderName().length() > 80) {
-            throw new ValidationException("Field 'providerName' must be ≤ 80 characters or not null");
-        }
-        if (request.getRating() < 1 || request.getRating() > 5) {
-            throw new ValidationException("Field 'rating' must be an integer between 1 and 5");
-        }
-        if (request.getComment() != null && request.getComment().length() > 200) {
-            throw new ValidationException("Field 'comment' must be ≤ 200 characters");
-        }
+        validate(request);
         //Covert from DTO to entity, back to DTO
         Feedback feedback = request.toEntity();
         Feedback savedFeedback = feedbackRepository.saveAndFlush(feedback);
+        if (idempotencyKey != null
+                && idempotencyRecordRepository.insertIfAbsent(idempotencyKey, savedFeedback.getId(), Instant.now(), requestHash) == 0) {
+            throw new DuplicateIdempotencyKeyException(idempotencyKey);
+        }
         FeedbackResponse feedbackResponse = FeedbackResponse.from(savedFeedback);
 
-        //Create event object & send to Kafka
+        //Create event object & queue it in the outbox, committed alongside the feedback
         FeedbackSubmittedEvent event = FeedbackSubmittedEvent.fromEntityToEvent(savedFeedback);
-        feedbackEventPublisher.publishFeedbackEvent(event);
+        feedbackOutbox.enqueue(event);
+        providerStatsService.recordFeedback(List.of(savedFeedback));
+        memberFeedbackVersionRepository.bump(savedFeedback.getMemberId());
+        applicationEventPublisher.publishEvent(new FeedbackCreatedEvent(feedbackResponse));
 
         return feedbackResponse;
     }
 
+    @Transactional
+    public BatchFeedbackResponse createFeedbackBatch(List<FeedbackRequest> requests) throws ValidationException {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new ValidationException("Batch must contain between 1 and " + maxBatchSize + " feedback entries");
+        }
+
+        //Validate every item up front, remembering where the valid ones came from
+        BatchFeedbackResult[] results = new BatchFeedbackResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        List<Feedback> entities = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            FeedbackRequest request = requests.get(i);
+            try {
+                if (request == null) {
+                    throw new ValidationException("Feedback entry must not be null");
+                }
+                validate(request);
+                validIndexes.add(i);
+                entities.add(request.toEntity());
+            } catch (ValidationException ex) {
+                results[i] = BatchFeedbackResult.rejected(i, ex);
+            }
+        }
+
+        //One transaction for the whole batch, so Hibernate can group the inserts into JDBC batches
+        if (!entities.isEmpty()) {
+            List<FeedbackResponse> created = saveAll(entities);
+            for (int i = 0; i < created.size(); i++) {
+                int index = validIndexes.get(i);
+                results[index] = BatchFeedbackResult.created(index, created.get(i));
+            }
+        }
+
+        return BatchFeedbackResponse.from(List.of(results));
+    }
+
+    //For callers that already validated every request (see GroupCommitFeedbackWriter); one transaction for all.
+    //claims pairs up with requests, null where a request has no Idempotency-Key; one already taken rolls back the lot
+    @Transactional
+    public List<FeedbackResponse> createValidatedFeedback(List<FeedbackRequest> requests, List<IdempotencyClaim> claims) {
+        List<Feedback> entities = new ArrayList<>(requests.size());
+        for (FeedbackRequest request : requests) {
+            entities.add(request.toEntity());
+        }
+        List<Feedback> savedFeedback = feedbackRepository.saveAll(entities);
+        Instant now = Instant.now();
+        for (int i = 0; i < savedFeedback.size(); i++) {
+            IdempotencyClaim claim = claims.get(i);
+            if (claim != null && idempotencyRecordRepository.insertIfAbsent(claim.idempotencyKey(),
+                    savedFeedback.get(i).getId(), now, claim.requestHash()) == 0) {
+                throw new DuplicateIdempotencyKeyException(claim.idempotencyKey());
+            }
+        }
+        return recordSaved(savedFeedback);
+    }
+
+    //Responses come back in the same order as the entities
+    private List<FeedbackResponse> saveAll(List<Feedback> entities) {
+        return recordSaved(feedbackRepository.saveAll(entities));
+    }
+
+    //Queues the events, counts the stats and bumps member versions for rows just saved in this transaction
+    private List<FeedbackResponse> recordSaved(List<Feedback> savedFeedback) {
+        List<FeedbackResponse> responses = new ArrayList<>(savedFeedback.size());
+        List<FeedbackSubmittedEvent> events = new ArrayList<>(savedFeedback.size());
+        for (Feedback saved : savedFeedback) {
+            FeedbackResponse feedbackResponse = FeedbackResponse.from(saved);
+            responses.add(feedbackResponse);
+            events.add(FeedbackSubmittedEvent.fromEntityToEvent(saved));
+            applicationEventPublisher.publishEvent(new FeedbackCreatedEvent(feedbackResponse));
+        }
+        feedbackOutbox.enqueueAll(events);
+        providerStatsService.recordFeedback(savedFeedback);
+        bumpMemberVersions(savedFeedback);
+        return responses;
+    }
+
+    //Once per member, sorted so concurrent batches always lock rows in the same order and cannot deadlock
+    private void bumpMemberVersions(List<Feedback> feedback) {
+        TreeSet<String> memberIds = new TreeSet<>();
+        for (Feedback entry : feedback) {
+            memberIds.add(entry.getMemberId());
+        }
+        for (String memberId : memberIds) {
+            memberFeedbackVersionRepository.bump(memberId);
+        }
+    }
+
 
+    //Not transactional, so cache hits never open one; on a miss, the lookup runs in its own read-only transaction
     public Optional<FeedbackResponse> findFeedbackById(UUID id) {
-        return feedbackRepository.findById(id)
-                .map(feedback -> FeedbackResponse.from(feedback));
+        return feedbackCache.get(id, key -> findFeedbackRow(key));
+    }
+
+    //True when the entry is old enough that retention may have retired its partition (FeedbackPartitionManager cuts at the
+    //start of a month). Random ids carry no time, so with retention on they always might be.
+    public boolean mayBeRetired(UUID id) {
+        if (retentionMonths <= 0) {
+            return false;
+        }
+        Instant created = UuidV7Generator.timestampOf(id);
+        Instant cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return created == null || created.isBefore(cutoff.plus(ID_TIMESTAMP_SLACK));
+    }
+
+    //A v7 id carries its creation time, which is within moments of submittedAt; bounding the lookup by it lets a
+    //partitioned table skip every partition but one (two near a month boundary). Older, random ids search them all.
+    private Optional<FeedbackResponse> findFeedbackRow(UUID id) {
+        Instant created = UuidV7Generator.timestampOf(id);
+        if (created == null) {
+            return feedbackRepository.findResponseById(id);
+        }
+        return feedbackRepository.findResponseByIdAndSubmittedAtBetween(id, created.minus(ID_TIMESTAMP_SLACK), created.plus(ID_TIMESTAMP_SLACK));
+    }
+
+    //Changes whenever a row is added to (or retired from) the member's feedback; 0 until their first one
+    @Transactional(readOnly = true)
+    public long findMemberFeedbackVersion(String memberId) {
+        return memberFeedbackVersionRepository.findVersion(memberId).orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public FeedbackPage findFeedbackByMemberId(String memberId, Integer limit, String cursor) throws ValidationException {
+        int pageSize = pageSize(limit);
+
+        //Ask for one extra row; if it comes back, there is another page after this one
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<FeedbackResponse> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = feedbackRepository.findResponsesByMemberId(memberId, fetchLimit);
+        } else {
+            FeedbackCursor after = FeedbackCursor.decode(cursor);
+            rows = feedbackRepository.findResponsesByMemberIdAfter(memberId, after.getSubmittedAt(), after.getId(), fetchLimit);
+        }
+        return keysetPage(rows, pageSize);
     }
 
-    public List<FeedbackResponse> findFeedbackByMemberId(String memberId) {
-        return feedbackRepository.findByMemberId(memberId)
-                .stream()
-                .map(feedback -> FeedbackResponse.from(feedback))
-                .toList();
+    @Transactional(readOnly = true)
+    public FeedbackPage findFeedback(FeedbackFilter filter, Integer limit, String cursor) throws ValidationException {
+        int pageSize = pageSize(limit);
+
+        List<Specification<Feedback>> conditions = new ArrayList<>();
+        if (filter.getProviderName() != null) {
+            if (filter.getProviderName().length() > 80) {
+                throw new ValidationException("Parameter 'providerName' must be ≤ 80 characters");
+            }
+            conditions.add(FeedbackSpecifications.providerNameIs(filter.getProviderName()));
+        }
+        Integer minRating = filter.getMinRating();
+        Integer maxRating = filter.getMaxRating();
+        if ((minRating != null && (minRating < 1 || minRating > 5)) || (maxRating != null && (maxRating < 1 || maxRating > 5))) {
+            throw new ValidationException("Parameters 'minRating' and 'maxRating' must be integers between 1 and 5");
+        }
+        if (minRating != null && maxRating != null && minRating > maxRating) {
+            throw new ValidationException("Parameter 'minRating' must not be greater than 'maxRating'");
+        }
+        //Leave out bounds that don't narrow anything, so they don't stop the planner from matching a partial index
+        if (minRating != null && minRating > 1) {
+            conditions.add(FeedbackSpecifications.ratingAtLeast(minRating));
+        }
+        if (maxRating != null && maxRating < 5) {
+            conditions.add(FeedbackSpecifications.ratingAtMost(maxRating));
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new ValidationException("Parameter 'from' must be before 'to'");
+        }
+        if (filter.getFrom() != null) {
+            conditions.add(FeedbackSpecifications.submittedAtOrAfter(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            conditions.add(FeedbackSpecifications.submittedBefore(filter.getTo()));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            FeedbackCursor after = FeedbackCursor.decode(cursor);
+            conditions.add(FeedbackSpecifications.after(after.getSubmittedAt(), after.getId()));
+        }
+
+        List<FeedbackResponse> rows = feedbackRepository.findResponses(Specification.allOf(conditions),
+                FeedbackSpecifications.NEWEST_FIRST, pageSize + 1);
+        return keysetPage(rows, pageSize);
+    }
+
+    private int pageSize(Integer limit) throws ValidationException {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new ValidationException("Parameter 'limit' must be an integer between 1 and " + maxPageSize);
+        }
+        return pageSize;
+    }
+
+    //rows holds up to pageSize + 1 entries; the extra one only signals that another page exists
+    private static FeedbackPage keysetPage(List<FeedbackResponse> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<FeedbackResponse> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? FeedbackCursor.after(items.get(items.size() - 1)).encode() : null;
+        return FeedbackPage.of(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public FeedbackPage searchFeedback(String query, Integer limit, String cursor) throws ValidationException {
+        if (query == null || query.isBlank() || query.length() > 200) {
+            throw new ValidationException("Parameter 'q' must be between 1 and 200 characters");
+        }
+        int pageSize = pageSize(limit);
+        //Ranked results can't be keyset-paginated, so the cursor is just the offset of the next page
+        int offset = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                offset = Integer.parseInt(cursor);
+            } catch (NumberFormatException ex) {
+                offset = -1;
+            }
+            if (offset < 0) {
+                throw new ValidationException("Parameter 'cursor' is not a valid cursor");
+            }
+        }
+        //Deep offsets still rank every match before skipping them, so only the best matches are reachable
+        if (offset + pageSize > maxSearchResults) {
+            throw new ValidationException("Search only returns the first " + maxSearchResults + " matches; refine the query");
+        }
+
+        List<FeedbackResponse> rows = feedbackRepository.search(query, pageSize + 1, offset);
+        boolean hasMore = rows.size() > pageSize && offset + pageSize < maxSearchResults;
+        List<FeedbackResponse> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        return FeedbackPage.of(items, hasMore ? String.valueOf(offset + pageSize) : null);
     }
 }
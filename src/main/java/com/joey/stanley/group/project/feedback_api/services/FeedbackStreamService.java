@@ -0,0 +1,227 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.config.FeedbackExecutorConfig;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes newly committed feedback to SSE subscribers. Each subscriber has a small bounded buffer; when a client
+// falls behind, its oldest undelivered entries are dropped, so one slow connection never holds more than
+// buffer-size entries in memory or delays anyone else. Subscribers are indexed by their filter, so a new entry
+// only visits the subscribers that want it.
+@Service
+public class FeedbackStreamService {
+
+    public static final String EVENT_NAME = "feedback";
+
+    private final TaskExecutor dispatchExecutor;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final Duration retryAfter;
+    private final Counter droppedCounter;
+
+    private final Set<Subscriber> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> byMemberId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byProviderName = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public FeedbackStreamService(@Qualifier(FeedbackExecutorConfig.FEEDBACK_STREAM_EXECUTOR) TaskExecutor dispatchExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${feedback.stream.buffer-size:64}") int bufferSize,
+                                 @Value("${feedback.stream.max-subscribers:10000}") int maxSubscribers,
+                                 @Value("${feedback.stream.timeout:30m}") Duration timeout,
+                                 @Value("${feedback.stream.retry-after:5s}") Duration retryAfter) {
+        this.dispatchExecutor = dispatchExecutor;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeout.toMillis();
+        this.retryAfter = retryAfter;
+        this.droppedCounter = Counter.builder("feedback.stream.dropped")
+                .description("Feedback entries discarded because a subscriber's buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("feedback.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open feedback SSE subscriptions")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String memberId, String providerName) throws ServiceBusyException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceBusyException("Too many open feedback streams, retry later", retryAfter);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, memberId, providerName, bufferSize);
+        add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    // Runs on the committing thread, so it only buffers; the sends happen on the dispatch executor
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackCreated(FeedbackCreatedEvent event) {
+        FeedbackResponse feedback = event.feedback();
+        publish(unfiltered, feedback);
+        publish(byMemberId.get(feedback.getMemberId()), feedback);
+        publish(byProviderName.get(feedback.getProviderName()), feedback);
+    }
+
+    // Comment lines keep proxies from closing idle streams and flush out clients that have gone away
+    @Scheduled(fixedDelayString = "${feedback.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        unfiltered.forEach(this::heartbeat);
+        byMemberId.values().forEach(subscribers -> subscribers.forEach(this::heartbeat));
+        byProviderName.values().forEach(subscribers -> subscribers.forEach(this::heartbeat));
+    }
+
+    // Streams never end on their own, so close them before the web server's graceful shutdown waits on them;
+    // EventSource clients reconnect (to another node) by themselves
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        unfiltered.forEach(subscriber -> subscriber.emitter.complete());
+        byMemberId.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        byProviderName.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void publish(Set<Subscriber> subscribers, FeedbackResponse feedback) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(feedback)) {
+                if (subscriber.offer(feedback)) {
+                    droppedCounter.increment();
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        subscriber.heartbeatDue = true;
+        schedule(subscriber);
+    }
+
+    // At most one drain per subscriber is queued or running at a time
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatchExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedbackResponse next;
+            while ((next = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(EVENT_NAME)
+                        .id(next.getId().toString())
+                        .data(next));
+            }
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away (or the emitter already completed); stop buffering for it
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Entries that arrived after the last poll but before the flag was cleared
+        if (!subscriber.buffer.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    // Subscribers with both filters are indexed by member only and checked against the provider in matches()
+    private void add(Subscriber subscriber) {
+        if (subscriber.memberId != null) {
+            byMemberId.compute(subscriber.memberId, (key, set) -> addTo(set, subscriber));
+        } else if (subscriber.providerName != null) {
+            byProviderName.compute(subscriber.providerName, (key, set) -> addTo(set, subscriber));
+        } else {
+            unfiltered.add(subscriber);
+        }
+    }
+
+    private static Set<Subscriber> addTo(Set<Subscriber> set, Subscriber subscriber) {
+        Set<Subscriber> subscribers = set == null ? ConcurrentHashMap.newKeySet() : set;
+        subscribers.add(subscriber);
+        return subscribers;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        if (subscriber.memberId != null) {
+            byMemberId.computeIfPresent(subscriber.memberId, (key, set) -> set.remove(subscriber) && set.isEmpty() ? null : set);
+        } else if (subscriber.providerName != null) {
+            byProviderName.computeIfPresent(subscriber.providerName, (key, set) -> set.remove(subscriber) && set.isEmpty() ? null : set);
+        } else {
+            unfiltered.remove(subscriber);
+        }
+        subscriber.buffer.clear();
+    }
+
+    static final class Subscriber {
+
+        final SseEmitter emitter;
+        final String memberId;
+        final String providerName;
+        final ArrayBlockingQueue<FeedbackResponse> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean heartbeatDue;
+
+        Subscriber(SseEmitter emitter, String memberId, String providerName, int bufferSize) {
+            this.emitter = emitter;
+            this.memberId = memberId;
+            this.providerName = providerName;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean matches(FeedbackResponse feedback) {
+            return (memberId == null || memberId.equals(feedback.getMemberId()))
+                    && (providerName == null || providerName.equals(feedback.getProviderName()));
+        }
+
+        // Returns true when an older entry had to be dropped to make room
+        boolean offer(FeedbackResponse feedback) {
+            boolean dropped = false;
+            while (!buffer.offer(feedback)) {
+                dropped |= buffer.poll() != null;
+            }
+            return dropped;
+        }
+    }
+}
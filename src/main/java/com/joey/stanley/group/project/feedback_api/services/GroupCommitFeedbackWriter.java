@@ -0,0 +1,216 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Group commit for async creates: requests that already passed validation wait in a bounded queue, and a single writer
+// thread stores whatever has gathered (up to max-batch-size rows, waiting at most max-wait for more) in one transaction.
+// Under load many callers share one commit, and so one WAL flush, instead of paying for their own.
+@Service
+@ConditionalOnProperty(name = "feedback.group-commit.enabled", havingValue = "true")
+public class GroupCommitFeedbackWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitFeedbackWriter.class);
+
+    private record Pending(FeedbackRequest request, IdempotencyClaim claim, CompletableFuture<FeedbackResponse> result) {
+    }
+
+    private final FeedbackService feedbackService;
+
+    private final BlockingQueue<Pending> queue;
+
+    private final int maxBatchSize;
+
+    private final long maxWaitNanos;
+
+    private final Duration retryAfter;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final Timer commitTimer;
+
+    private final Counter rejectedCounter;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    public GroupCommitFeedbackWriter(FeedbackService feedbackService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${feedback.group-commit.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${feedback.group-commit.max-batch-size:200}") int maxBatchSize,
+                                     @Value("${feedback.group-commit.max-wait:5ms}") Duration maxWait,
+                                     @Value("${feedback.async.retry-after:1s}") Duration retryAfter) {
+        this.feedbackService = feedbackService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfter = retryAfter;
+        Gauge.builder("feedback.group-commit.queue.depth", queue, BlockingQueue::size)
+                .description("Validated creates waiting for the group-commit writer")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("feedback.group-commit.batch.size")
+                .description("Rows stored per group-commit transaction")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("feedback.group-commit.commit")
+                .description("Time to insert and commit one group-commit batch")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("feedback.group-commit.rejected")
+                .description("Creates turned away because the group-commit queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (writer == null) {
+            running = true;
+            writer = Thread.ofPlatform().name("feedback-group-commit").daemon().start(this::run);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Starts before the web server takes requests and stops only after it has finished the in-flight ones
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public CompletableFuture<FeedbackResponse> submit(FeedbackRequest request) throws ServiceBusyException {
+        return submit(request, null);
+    }
+
+    // The future completes once the batch holding this request has committed. With a claim, the key is recorded in the
+    // same transaction; if it is already taken the future fails with DuplicateIdempotencyKeyException.
+    public CompletableFuture<FeedbackResponse> submit(FeedbackRequest request, IdempotencyClaim claim) throws ServiceBusyException {
+        Pending pending = new Pending(request, claim, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Too many feedback submissions waiting to be stored, retry later", retryAfter);
+        }
+        // The writer may have stopped and drained the queue between the check and the offer. If it did, take the request
+        // back; if it is already gone, the writer has it and will complete it either way.
+        if (!running && queue.remove(pending)) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Feedback writer is stopping, retry later", retryAfter);
+        }
+        return pending.result();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.nanoTime() + maxWaitNanos;
+                    while (batch.size() < maxBatchSize) {
+                        // Past the deadline, still take whatever is already queued, just don't wait for more
+                        Pending next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException ex) {
+                    // Stop waiting for more work; what is queued is still written on the way out
+                    running = false;
+                }
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                    batch.clear();
+                }
+            }
+        } catch (Throwable ex) {
+            log.error("Group-commit writer stopped unexpectedly", ex);
+            throw ex;
+        } finally {
+            // Normally nothing is left here. If the loop died, callers must not wait forever, and new requests get a 503.
+            running = false;
+            IllegalStateException stopped = new IllegalStateException("Group-commit writer stopped before the feedback was stored");
+            batch.forEach(pending -> pending.result().completeExceptionally(stopped));
+            Pending pending;
+            while ((pending = queue.poll()) != null) {
+                pending.result().completeExceptionally(stopped);
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        batchSizeSummary.record(batch.size());
+        List<FeedbackRequest> requests = new ArrayList<>(batch.size());
+        List<IdempotencyClaim> claims = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request());
+            claims.add(pending.claim());
+        }
+        long start = System.nanoTime();
+        try {
+            List<FeedbackResponse> created = feedbackService.createValidatedFeedback(requests, claims);
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(created.get(i));
+            }
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(ex);
+                return;
+            }
+            // The whole transaction rolled back; retry each row on its own so one bad row fails only its own caller
+            log.warn("Group commit of {} rows failed, retrying them one by one", batch.size(), ex);
+            for (Pending pending : batch) {
+                commit(List.of(pending));
+            }
+        } catch (Throwable ex) {
+            // Not something a retry fixes; fail this batch's callers and keep the writer going for the next one
+            log.error("Group commit of {} rows failed", batch.size(), ex);
+            for (Pending pending : batch) {
+                pending.result().completeExceptionally(ex);
+            }
+        }
+    }
+
+    // Stops taking new requests and writes out the ones already queued before the context closes
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(Duration.ofSeconds(30));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("Shut down before the feedback was stored"));
+        }
+    }
+}
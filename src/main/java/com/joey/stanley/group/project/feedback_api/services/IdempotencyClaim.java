@@ -0,0 +1,5 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+// An Idempotency-Key to record alongside a create, with the hash of the request body that claims it
+public record IdempotencyClaim(String idempotencyKey, String requestHash) {
+}
@@ -0,0 +1,10 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+// An Idempotency-Key came back with a different body than the request that first used it. Replaying the original
+// would silently drop the new feedback, so the caller gets a 422 instead.
+public class IdempotencyKeyReusedException extends Exception {
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Header 'Idempotency-Key' was already used with a different request body: " + idempotencyKey, null, false, false);
+    }
+}
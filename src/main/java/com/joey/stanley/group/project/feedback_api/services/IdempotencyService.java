@@ -0,0 +1,169 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// Lets clients retry a create safely: the first request with a key creates the feedback and records the key, with a
+// hash of the request body, in the same transaction; later ones with the same body get the original response back,
+// and ones with a different body are refused. Recent keys are answered from memory, older ones from the
+// feedback_idempotency table until they pass the retention window.
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String CACHE_NAME = "feedbackByIdempotencyKey";
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final FeedbackService feedbackService;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final Duration retention;
+
+    private final Cache<String, Original> cache;
+
+    private final TransactionTemplate primaryLookup;
+
+    public IdempotencyService(FeedbackService feedbackService,
+                              IdempotencyRecordRepository idempotencyRecordRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${feedback.idempotency.retention:24h}") Duration retention,
+                              @Value("${feedback.idempotency.cache-size:10000}") long cacheSize) {
+        this.feedbackService = feedbackService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        //Read-write on purpose: with read replicas enabled, a lagging replica could miss a key that was just claimed
+        this.primaryLookup = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public IdempotentFeedback createFeedback(String idempotencyKey, FeedbackRequest request)
+            throws ValidationException, IdempotencyKeyReusedException {
+        validateKey(idempotencyKey);
+        IdempotencyClaim claim = new IdempotencyClaim(idempotencyKey, requestHash(request));
+
+        Optional<IdempotentFeedback> replay = findReplay(claim);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        try {
+            FeedbackResponse created = feedbackService.createFeedback(request, idempotencyKey, claim.requestHash());
+            return recordCreated(claim, created);
+        } catch (DuplicateIdempotencyKeyException ex) {
+            return replayDuplicate(claim, ex);
+        }
+    }
+
+    public void validateKey(String idempotencyKey) throws ValidationException {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Header 'Idempotency-Key' must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    // The original response when the key was already used with the same body; empty when it is still unclaimed
+    public Optional<IdempotentFeedback> findReplay(IdempotencyClaim claim) throws IdempotencyKeyReusedException {
+        Optional<Original> original = findOriginal(claim.idempotencyKey());
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(replay(claim, original.get()));
+    }
+
+    // Call once the create that claimed the key has committed
+    public IdempotentFeedback recordCreated(IdempotencyClaim claim, FeedbackResponse created) {
+        cache.put(claim.idempotencyKey(), new Original(created, claim.requestHash()));
+        return new IdempotentFeedback(created, false);
+    }
+
+    // A concurrent request with the same key committed first; ours has been rolled back
+    public IdempotentFeedback replayDuplicate(IdempotencyClaim claim, DuplicateIdempotencyKeyException ex)
+            throws IdempotencyKeyReusedException {
+        return replay(claim, findOriginal(claim.idempotencyKey()).orElseThrow(() -> ex));
+    }
+
+    private IdempotentFeedback replay(IdempotencyClaim claim, Original original) throws IdempotencyKeyReusedException {
+        // Keys recorded before hashes were stored have none; those can only be replayed
+        if (original.requestHash() != null && !original.requestHash().equals(claim.requestHash())) {
+            throw new IdempotencyKeyReusedException(claim.idempotencyKey());
+        }
+        return new IdempotentFeedback(original.feedback(), true);
+    }
+
+    private Optional<Original> findOriginal(String idempotencyKey) {
+        Original cached = cache.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Original> original = primaryLookup.execute(status -> idempotencyRecordRepository.findById(idempotencyKey)
+                .flatMap(record -> feedbackService.findFeedbackById(record.getFeedbackId())
+                        .map(feedback -> new Original(feedback, record.getRequestHash()))));
+        original.ifPresent(feedback -> cache.put(idempotencyKey, feedback));
+        return original;
+    }
+
+    // SHA-256 of the body's fields, each length-prefixed so no two different bodies can run together into the same text
+    public static String requestHash(FeedbackRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        appendField(canonical, request.getMemberId());
+        appendField(canonical, request.getProviderName());
+        appendField(canonical, String.valueOf(request.getRating()));
+        appendField(canonical, request.getComment());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static void appendField(StringBuilder canonical, String value) {
+        if (value == null) {
+            canonical.append("-;");
+        } else {
+            canonical.append(value.length()).append(':').append(value).append(';');
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = idempotencyRecordRepository.deleteCreatedBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    // The feedback a key created, and the hash of the body that created it (null for keys stored before hashes were)
+    private record Original(FeedbackResponse feedback, String requestHash) {
+    }
+}
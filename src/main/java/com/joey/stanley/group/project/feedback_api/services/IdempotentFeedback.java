@@ -0,0 +1,7 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+
+// replayed is true when the feedback was created by an earlier request with the same Idempotency-Key
+public record IdempotentFeedback(FeedbackResponse feedback, boolean replayed) {
+}
@@ -0,0 +1,65 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.dtos.ProviderStatsResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.repository.ProviderRatingStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// Totals for feedback from before they were kept are seeded once by db/migration/V9__seed_provider_rating_stats.sql
+@Service
+public class ProviderStatsService {
+
+    private final ProviderRatingStatsRepository providerRatingStatsRepository;
+
+    private final int maxTop;
+
+    public ProviderStatsService(ProviderRatingStatsRepository providerRatingStatsRepository,
+                                @Value("${feedback.provider-stats.max-top:100}") int maxTop) {
+        this.providerRatingStatsRepository = providerRatingStatsRepository;
+        this.maxTop = maxTop;
+    }
+
+    // Must run in the transaction that inserts the feedback, so the totals commit (or roll back) with it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordFeedback(List<Feedback> feedback) {
+        // Sorted by provider so concurrent batches always lock rows in the same order and cannot deadlock
+        Map<String, long[]> deltas = new TreeMap<>();
+        for (Feedback entry : feedback) {
+            long[] delta = deltas.computeIfAbsent(entry.getProviderName(), name -> new long[7]);
+            delta[0]++;
+            delta[1] += entry.getRating();
+            delta[1 + entry.getRating()]++;
+        }
+        for (Map.Entry<String, long[]> entry : deltas.entrySet()) {
+            long[] delta = entry.getValue();
+            providerRatingStatsRepository.increment(entry.getKey(), delta[0], delta[1],
+                    delta[2], delta[3], delta[4], delta[5], delta[6]);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ProviderStatsResponse> findStats(String providerName) {
+        return providerRatingStatsRepository.findById(providerName)
+                .map(stats -> ProviderStatsResponse.from(stats));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProviderStatsResponse> findTopProviders(int top) throws ValidationException {
+        if (top < 1 || top > maxTop) {
+            throw new ValidationException("Parameter 'top' must be an integer between 1 and " + maxTop);
+        }
+        return providerRatingStatsRepository.findAllByOrderByFeedbackCountDesc(Limit.of(top))
+                .stream()
+                .map(stats -> ProviderStatsResponse.from(stats))
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import java.time.Duration;
+
+public class ServiceBusyException extends Exception {
+
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
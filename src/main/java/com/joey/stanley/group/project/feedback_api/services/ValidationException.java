@@ -1,7 +1,40 @@
 package com.joey.stanley.group.project.feedback_api.services;
 
+import com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError;
+
+import java.util.List;
+
+// Expected client errors that end in a 400, so no stack trace is captured: walking the stack was most of their cost
 public class ValidationException extends Exception {
+
+    //Field-level failures, empty when the failure isn't about request fields (e.g. a bad query parameter)
+    private final List<FieldValidationError> errors;
+
     public ValidationException(String message) {
-        super(message);
+        this(message, List.of());
+    }
+
+    public ValidationException(List<FieldValidationError> errors) {
+        this(joinMessages(errors), errors);
+    }
+
+    private ValidationException(String message, List<FieldValidationError> errors) {
+        super(message, null, false, false);
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<FieldValidationError> getErrors() {
+        return errors;
+    }
+
+    private static String joinMessages(List<FieldValidationError> errors) {
+        StringBuilder message = new StringBuilder();
+        for (FieldValidationError error : errors) {
+            if (!message.isEmpty()) {
+                message.append("; ");
+            }
+            message.append(error.message());
+        }
+        return message.toString();
     }
 }
@@ -0,0 +1,30 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Counts rejected feedback requests by the field that failed, so a misbehaving client shows up as a spike on one field
+@Component
+public class ValidationMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public ValidationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(List<FieldValidationError> errors) {
+        //Field names come from our own checks, never from the request, so the tag stays low-cardinality
+        for (FieldValidationError error : errors) {
+            Counter.builder("feedback.validation.failures")
+                    .description("Feedback requests rejected by validation")
+                    .tag("field", error.field())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
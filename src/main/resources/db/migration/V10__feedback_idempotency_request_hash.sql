@@ -0,0 +1,3 @@
+-- Hash of the request body that first used each key, so reusing a key for a different body is refused with 422.
+-- Keys recorded before this have none and are replayed as before until they expire.
+ALTER TABLE feedback_idempotency ADD COLUMN IF NOT EXISTS request_hash varchar(64);
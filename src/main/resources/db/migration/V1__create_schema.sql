@@ -0,0 +1,18 @@
+-- The feedback table as Hibernate's ddl-auto=update created it before Flyway took over. Databases created that way
+-- are baselined at version 1 (spring.flyway.baseline-on-migrate), so this script only runs against empty databases.
+-- Everything added since lives in its own migration, written so it also applies on top of such a database.
+
+CREATE TABLE feedback (
+    id            uuid                        NOT NULL,
+    member_id     varchar(36)                 NOT NULL,
+    provider_name varchar(80)                 NOT NULL,
+    rating        integer                     NOT NULL,
+    comment       varchar(200)                NOT NULL,
+    submitted_at  timestamp(6) with time zone NOT NULL,
+    CONSTRAINT feedback_pkey PRIMARY KEY (id),
+    CONSTRAINT feedback_rating_check CHECK (rating BETWEEN 1 AND 5)
+);
+
+-- Keyset pagination over a member's feedback: WHERE member_id = ? ORDER BY submitted_at DESC, id DESC.
+-- Baselined databases that never got it are given it by V6.
+CREATE INDEX idx_feedback_member_submitted_id ON feedback (member_id, submitted_at, id);
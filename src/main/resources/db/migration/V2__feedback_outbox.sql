@@ -0,0 +1,14 @@
+-- Events waiting for OutboxRelay, written in the same transaction as the feedback they describe.
+-- IF NOT EXISTS: ddl-auto=update may already have created these on a baselined database.
+CREATE TABLE IF NOT EXISTS feedback_outbox (
+    id              uuid                        NOT NULL,
+    aggregate_id    varchar(36)                 NOT NULL,
+    payload         text                        NOT NULL,
+    created_at      timestamp(6) with time zone NOT NULL,
+    next_attempt_at timestamp(6) with time zone NOT NULL,
+    attempts        integer                     NOT NULL,
+    last_error      varchar(500),
+    CONSTRAINT feedback_outbox_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_feedback_outbox_next_attempt ON feedback_outbox (next_attempt_at);
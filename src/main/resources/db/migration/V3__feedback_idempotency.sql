@@ -0,0 +1,9 @@
+-- Idempotency-Key replay records. IF NOT EXISTS: ddl-auto=update may already have created these on a baselined database.
+CREATE TABLE IF NOT EXISTS feedback_idempotency (
+    idempotency_key varchar(255)                NOT NULL,
+    feedback_id     uuid                        NOT NULL,
+    created_at      timestamp(6) with time zone NOT NULL,
+    CONSTRAINT feedback_idempotency_pkey PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_feedback_idempotency_created_at ON feedback_idempotency (created_at);
@@ -0,0 +1,16 @@
+-- Running totals per provider, kept up to date in the same transaction as each new feedback row.
+-- IF NOT EXISTS: ddl-auto=update may already have created these on a baselined database.
+CREATE TABLE IF NOT EXISTS provider_rating_stats (
+    provider_name    varchar(80) NOT NULL,
+    feedback_count   bigint      NOT NULL,
+    rating_sum       bigint      NOT NULL,
+    one_star_count   bigint      NOT NULL,
+    two_star_count   bigint      NOT NULL,
+    three_star_count bigint      NOT NULL,
+    four_star_count  bigint      NOT NULL,
+    five_star_count  bigint      NOT NULL,
+    CONSTRAINT provider_rating_stats_pkey PRIMARY KEY (provider_name)
+);
+
+-- Top-N by volume reads the first N entries of this index
+CREATE INDEX IF NOT EXISTS idx_provider_rating_stats_count ON provider_rating_stats (feedback_count);
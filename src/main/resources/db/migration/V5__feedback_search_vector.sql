@@ -0,0 +1,7 @@
+-- Full-text search document: provider name (weight A) and comment (weight B). Postgres fills the column on
+-- insert and update; storing it keeps ts_rank from re-parsing every matching row at query time.
+-- Adding a stored generated column rewrites the table, so this holds an exclusive lock on feedback while it runs.
+ALTER TABLE feedback ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', provider_name), 'A') ||
+    setweight(to_tsvector('english', coalesce(comment, '')), 'B')
+) STORED;
@@ -0,0 +1,15 @@
+-- Built CONCURRENTLY (see V6__feedback_query_indexes.sql.conf) so an existing feedback table keeps taking writes.
+-- IF NOT EXISTS: ddl-auto=update and the old schema.sql may already have created some of them. A build that fails
+-- part way leaves an INVALID index behind, which IF NOT EXISTS would skip; drop it before repairing the migration.
+
+-- Keyset pagination over a member's feedback; V1 creates it on new databases
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feedback_member_submitted_id ON feedback (member_id, submitted_at, id);
+-- Filtered queries for one provider, newest first, optionally bounded to a time window
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feedback_provider_submitted_id ON feedback (provider_name, submitted_at, id);
+-- Filtered queries across all providers (time window and/or rating only)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feedback_submitted_id ON feedback (submitted_at, id);
+-- Low ratings (complaints) for one provider, newest first. The planner uses this one when the query's maxRating is 2
+-- or less, and it stays a fraction of idx_feedback_provider_submitted_id's size.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feedback_provider_low_rating ON feedback (provider_name, submitted_at, id) WHERE rating <= 2;
+-- Full-text search over the V5 search_vector column
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feedback_search ON feedback USING GIN (search_vector);
@@ -0,0 +1,11 @@
+-- One counter per member, bumped in the same transaction as every insert of that member's feedback. The member list
+-- endpoint serves it as its ETag, so a conditional GET is answered from this single-row lookup.
+CREATE TABLE member_feedback_version (
+    member_id varchar(36) NOT NULL,
+    version   bigint      NOT NULL,
+    CONSTRAINT member_feedback_version_pkey PRIMARY KEY (member_id)
+);
+
+-- Members with feedback from before this table existed start at 1, so their lists get an ETag that retirement bumps
+INSERT INTO member_feedback_version (member_id, version)
+SELECT DISTINCT member_id, 1 FROM feedback;
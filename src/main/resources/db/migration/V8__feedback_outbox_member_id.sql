@@ -0,0 +1,8 @@
+-- The relay only hands out a member's oldest pending event, so a retried event cannot be overtaken by a later one
+-- for the same member (they share a Kafka partition key). Rows already queued take the member from their payload.
+ALTER TABLE feedback_outbox ADD COLUMN IF NOT EXISTS member_id varchar(36);
+UPDATE feedback_outbox SET member_id = payload::jsonb ->> 'memberId' WHERE member_id IS NULL;
+ALTER TABLE feedback_outbox ALTER COLUMN member_id SET NOT NULL;
+
+-- Finds whether an older event for the same member is still pending
+CREATE INDEX IF NOT EXISTS idx_feedback_outbox_member_created ON feedback_outbox (member_id, created_at, id);
@@ -0,0 +1,14 @@
+-- Seeds the running totals from the feedback written before they were maintained. Flyway runs this once, before the
+-- app takes requests, so no insert can land between the count and the first increment. Totals are recomputed rather
+-- than added to, in case a ddl-auto=update database already has a partial table; retention cannot have retired any
+-- partitions yet, since partitioning ships in the same release.
+DELETE FROM provider_rating_stats;
+
+INSERT INTO provider_rating_stats (provider_name, feedback_count, rating_sum,
+                                   one_star_count, two_star_count, three_star_count, four_star_count, five_star_count)
+SELECT provider_name, count(*), sum(rating),
+       count(*) FILTER (WHERE rating = 1), count(*) FILTER (WHERE rating = 2),
+       count(*) FILTER (WHERE rating = 3), count(*) FILTER (WHERE rating = 4),
+       count(*) FILTER (WHERE rating = 5)
+FROM feedback
+GROUP BY provider_name;
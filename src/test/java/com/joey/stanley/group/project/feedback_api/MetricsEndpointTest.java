@@ -0,0 +1,46 @@
+package com.joey.stanley.group.project.feedback_api;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Tests turn metrics export off by default; @AutoConfigureObservability brings the Prometheus registry back.
+// Relay off: the scrape only needs the request path, not the Kafka hand-off
+@SpringBootTest(properties = "feedback.outbox.relay.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_exposesStageHistogramsAndValidationFailures() throws Exception {
+        mockMvc.perform(post("/api/v1/feedback")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"memberId\":\"m-metrics\",\"providerName\":\"Dr. Scrape\",\"rating\":4,\"comment\":\"ok\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/feedback")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"memberId\":\"m-metrics\",\"providerName\":\"Dr. Scrape\",\"rating\":9}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("feedback_service_seconds_bucket{class=\"com.joey.stanley.group.project.feedback_api.services.FeedbackService\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("feedback_validation_failures_total{field=\"rating\"}")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")));
+    }
+}
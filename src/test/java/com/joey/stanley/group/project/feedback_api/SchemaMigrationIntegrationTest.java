@@ -0,0 +1,70 @@
+package com.joey.stanley.group.project.feedback_api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// Starts the app on a database that only has the feedback table the original ddl-auto=update created, as an existing
+// deployment would. Flyway baselines it at V1 and must add everything after; ddl-auto=validate fails the context otherwise.
+@SpringBootTest(properties = "feedback.outbox.relay.enabled=false")
+public class SchemaMigrationIntegrationTest {
+
+    private static final String DATABASE = "test_database_pre_flyway";
+
+    @DynamicPropertySource
+    static void preFlywayDatabase(DynamicPropertyRegistry registry) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:postgresql://db:5432/test_database", "postgres", "password");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + DATABASE);
+        }
+        try (Connection connection = DriverManager.getConnection("jdbc:postgresql://db:5432/" + DATABASE, "postgres", "password");
+             Statement statement = connection.createStatement()) {
+            // What Hibernate generated for the original Feedback entity: no indexes besides the primary key
+            statement.execute("CREATE TABLE feedback (rating integer NOT NULL CHECK (rating BETWEEN 1 AND 5), "
+                    + "submitted_at timestamp(6) with time zone NOT NULL, id uuid NOT NULL, member_id varchar(36) NOT NULL, "
+                    + "provider_name varchar(80) NOT NULL, comment varchar(200) NOT NULL, PRIMARY KEY (id))");
+            statement.execute("INSERT INTO feedback (id, member_id, provider_name, rating, comment, submitted_at) "
+                    + "VALUES (gen_random_uuid(), 'm-1', 'Dr. Legacy', 2, 'rude front desk staff', now())");
+        }
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://db:5432/" + DATABASE);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void baselinesPreFlywaySchema_andAppliesEveryLaterMigration() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertEquals("1", versions.get(0));
+        assertTrue(versions.size() > 1, versions.toString());
+
+        for (String table : List.of("feedback_outbox", "feedback_idempotency", "provider_rating_stats", "member_feedback_version")) {
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_tables WHERE tablename = ?", Integer.class, table), table);
+        }
+        for (String index : List.of("idx_feedback_member_submitted_id", "idx_feedback_provider_submitted_id",
+                "idx_feedback_submitted_id", "idx_feedback_provider_low_rating", "idx_feedback_search")) {
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_indexes WHERE indexname = ?", Integer.class, index), index);
+        }
+
+        // Provider totals start out counting the feedback written before they were kept
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT two_star_count FROM provider_rating_stats WHERE provider_name = 'Dr. Legacy'", Integer.class));
+
+        // The generated column covers rows written before it existed
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM feedback WHERE search_vector @@ websearch_to_tsquery('english', 'rude staff')", Integer.class));
+    }
+}
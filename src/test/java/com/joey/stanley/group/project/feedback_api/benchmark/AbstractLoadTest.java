@@ -0,0 +1,100 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+// Drives the running API with a fixed number of concurrent clients, each posting feedback and reading it back.
+// Subclasses pick the server's threading mode; both run against the same Hikari pool size so only that differs.
+// Knobs: -Dbenchmark.concurrency (default 400), -Dbenchmark.requests (default 20000)
+@Tag("benchmark")
+public abstract class AbstractLoadTest {
+
+    static final String HIKARI_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=10";
+    // Kafka isn't part of what we're measuring here
+    static final String RELAY_DISABLED = "feedback.outbox.relay.enabled=false";
+    // Every simulated client shares one address; the limiter would turn most of the load away
+    static final String RATE_LIMIT_DISABLED = "feedback.rate-limit.enabled=false";
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final String BODY = "{\"memberId\":\"m-load\",\"providerName\":\"Dr. Load Test\",\"rating\":4,\"comment\":\"Under pressure\"}";
+
+    @LocalServerPort
+    private int port;
+
+    protected abstract String mode();
+
+    private long[] drive(HttpClient client, int requests) throws Exception {
+        URI create = URI.create("http://localhost:" + port + "/api/v1/feedback");
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong failures = new AtomicLong();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<String> created = client.send(HttpRequest.newBuilder(create)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                                    .build(), HttpResponse.BodyHandlers.ofString());
+                            String location = created.headers().firstValue("Location").orElseThrow();
+                            HttpResponse<Void> read = client.send(HttpRequest.newBuilder(create.resolve(location)).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (created.statusCode() != 201 || read.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                });
+            }
+        }
+        assertEquals(0, failures.get(), "Some requests failed under load");
+        return latencies;
+    }
+
+    @Test
+    void createThenReadUnderLoad() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        drive(client, Math.min(REQUESTS, 2_000));
+
+        long start = System.nanoTime();
+        long[] latencies = drive(client, REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("%n%-9s concurrency=%d requests=%d  %.0f req/s  p50=%.1f ms  p99=%.1f ms  max=%.1f ms%n",
+                mode(), CONCURRENCY, REQUESTS, REQUESTS / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,97 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Compares the ranked full-text search against a naive ILIKE scan on a synthetic copy of the feedback table.
+// Run with: mvn -Pbenchmark test -Dtest=FeedbackSearchBenchmarkTest [-Dbenchmark.search.rows=5000000]
+@Tag("benchmark")
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class FeedbackSearchBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.search.rows", 2_000_000);
+    private static final int RUNS = 20;
+    private static final String TABLE = "feedback_search_bench";
+
+    // Common words match a large share of rows (ranking cost dominates), rare ones only a handful (index lookup dominates)
+    private static final List<String> TERMS = List.of("rude", "billing", "parking", "zorbulent");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Result(String term, long matches, double fullTextMillis, double ilikeMillis) {
+    }
+
+    @BeforeEach
+    void createDataset() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE feedback INCLUDING ALL)");
+        // Comments are stitched together from a small vocabulary, so common words repeat realistically;
+        // every 100,000th row gets the rare word
+        jdbcTemplate.execute("INSERT INTO " + TABLE + " (id, member_id, provider_name, rating, comment, submitted_at) "
+                + "SELECT gen_random_uuid(), 'm-' || (n % 50000), 'Dr. Provider ' || (n % 2000), 1 + n % 5, "
+                + "(ARRAY['Great', 'Rude', 'Friendly', 'Slow', 'Helpful'])[1 + n % 5] || ' staff, ' "
+                + "|| (ARRAY['billing was confusing', 'parking was easy', 'short wait', 'long wait', 'clean office', "
+                + "'no follow-up call'])[1 + n % 6] || ' and ' "
+                + "|| (ARRAY['would return', 'would not return', 'explained everything', 'rushed the visit'])[1 + n % 4] "
+                + "|| CASE WHEN n % 100000 = 0 THEN ' zorbulent' ELSE '' END, "
+                + "now() - (n || ' seconds')::interval "
+                + "FROM generate_series(1, " + ROWS + ") AS n");
+        jdbcTemplate.execute("ANALYZE " + TABLE);
+    }
+
+    @AfterEach
+    void dropDataset() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+    }
+
+    // One untimed run warms the cache and the plan
+    private double time(String sql, Object... args) {
+        jdbcTemplate.queryForList(sql, args);
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            jdbcTemplate.queryForList(sql, args);
+        }
+        return (System.nanoTime() - start) / 1e6 / RUNS;
+    }
+
+    @Test
+    void compareFullTextAndIlikeSearch() {
+        // Same shape as FeedbackRepository.search
+        String fullText = "SELECT id FROM " + TABLE + " f, websearch_to_tsquery('english', ?) q "
+                + "WHERE f.search_vector @@ q "
+                + "ORDER BY ts_rank(f.search_vector, q) DESC, submitted_at DESC, id DESC LIMIT 50";
+        String ilike = "SELECT id FROM " + TABLE + " WHERE comment ILIKE '%' || ? || '%' OR provider_name ILIKE '%' || ? || '%' "
+                + "ORDER BY submitted_at DESC, id DESC LIMIT 50";
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + fullText, String.class, "zorbulent"));
+        assertTrue(plan.contains("Bitmap Index Scan"), "Full-text search did not use the GIN index:\n" + plan);
+
+        System.out.printf("%n%d rows%n%-10s %10s %14s %14s%n", ROWS, "term", "matches", "full-text ms", "ilike ms");
+        for (String term : TERMS) {
+            Long matches = jdbcTemplate.queryForObject("SELECT count(*) FROM " + TABLE + " WHERE search_vector"
+                    + " @@ websearch_to_tsquery('english', ?)", Long.class, term);
+            Result result = new Result(term, matches, time(fullText, term), time(ilike, term, term));
+            System.out.printf("%-10s %10d %14.2f %14.2f%n", result.term(), result.matches(),
+                    result.fullTextMillis(), result.ilikeMillis());
+        }
+
+        assertEquals(ROWS / 100_000, jdbcTemplate.queryForObject("SELECT count(*) FROM " + TABLE + " WHERE search_vector"
+                + " @@ websearch_to_tsquery('english', 'zorbulent')", Long.class).intValue());
+    }
+}
@@ -0,0 +1,17 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        AbstractLoadTest.HIKARI_POOL_SIZE,
+        AbstractLoadTest.RELAY_DISABLED,
+        AbstractLoadTest.RATE_LIMIT_DISABLED
+})
+public class PlatformThreadLoadTest extends AbstractLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,75 @@
+package com.joey.stanley.group.project.feedback_api.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import com.joey.stanley.group.project.feedback_api.entity.UuidV7Generator;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Compares random (v4) and time-ordered (v7) primary keys on insert throughput and B-tree size.
+// Run with: mvn -Pbenchmark test -Dtest=UuidInsertBenchmarkTest [-Dbenchmark.rows=1000000]
+@Tag("benchmark")
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UuidInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 500_000);
+    private static final int BATCH = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Result(String name, double rowsPerSecond, long indexBytes) {
+    }
+
+    private Result run(String name, Supplier<UUID> ids) {
+        String table = "uuid_bench_" + name;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, member_id varchar(36) NOT NULL, "
+                + "submitted_at timestamptz NOT NULL DEFAULT now())");
+        try {
+            long start = System.nanoTime();
+            for (int inserted = 0; inserted < ROWS; inserted += BATCH) {
+                List<Object[]> batch = new ArrayList<>(BATCH);
+                for (int i = 0; i < BATCH; i++) {
+                    batch.add(new Object[] { ids.get(), "m-" + (i % 1000) });
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, member_id) VALUES (?, ?)", batch);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('" + table + "_pkey')", Long.class);
+            return new Result(name, ROWS / seconds, indexBytes);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() {
+        // Warm the connection and JIT before measuring either side
+        run("warmup", UUID::randomUUID);
+
+        Result random = run("v4", UUID::randomUUID);
+        Result timeOrdered = run("v7", UuidV7Generator::next);
+
+        System.out.printf("%n%-4s %14s %14s%n", "key", "rows/s", "pkey size");
+        for (Result result : List.of(random, timeOrdered)) {
+            System.out.printf("%-4s %14.0f %11d kB%n", result.name(), result.rowsPerSecond(), result.indexBytes() / 1024);
+        }
+
+        assertTrue(random.indexBytes() > 0 && timeOrdered.indexBytes() > 0);
+    }
+}
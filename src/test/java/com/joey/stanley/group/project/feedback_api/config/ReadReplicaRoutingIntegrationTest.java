@@ -0,0 +1,86 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Two "instances" on the local server: the primary database, and a second database standing in for a replica,
+// plus a replica that never answers. The database name shows which one served each transaction.
+@SpringBootTest(properties = {
+        "feedback.outbox.relay.enabled=false",
+        "feedback.datasource.replicas.enabled=true",
+        "feedback.datasource.replicas.connection-timeout=250ms"
+})
+public class ReadReplicaRoutingIntegrationTest {
+
+    private static final String PRIMARY_URL = "jdbc:postgresql://db:5432/test_database";
+    private static final String REPLICA_DATABASE = "test_database_replica";
+
+    @DynamicPropertySource
+    static void replicaDatabase(DynamicPropertyRegistry registry) throws Exception {
+        try (Connection connection = DriverManager.getConnection(PRIMARY_URL, "postgres", "password");
+             Statement statement = connection.createStatement()) {
+            ResultSet exists = statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = '" + REPLICA_DATABASE + "'");
+            if (!exists.next()) {
+                statement.execute("CREATE DATABASE " + REPLICA_DATABASE);
+            }
+        }
+        // The whole list has to come from one property source, or Boot binds only the entries in the highest one
+        registry.add("feedback.datasource.replicas.instances[0].name", () -> "replica-up");
+        registry.add("feedback.datasource.replicas.instances[0].url", () -> "jdbc:postgresql://db:5432/" + REPLICA_DATABASE);
+        registry.add("feedback.datasource.replicas.instances[1].name", () -> "replica-down");
+        registry.add("feedback.datasource.replicas.instances[1].url", () -> "jdbc:postgresql://localhost:1/nowhere");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    @Test
+    void readOnlyTransactions_goToHealthyReplica_andWritesStayOnPrimary() {
+        replicaRoutingDataSource.checkHealth();
+        assertTrue(replicaRoutingDataSource.isHealthy("replica-up"));
+        assertFalse(replicaRoutingDataSource.isHealthy("replica-down"));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(REPLICA_DATABASE, currentDatabase(true));
+        }
+        assertEquals("test_database", currentDatabase(false));
+        // Outside a transaction nothing is marked read-only either
+        assertEquals("test_database", jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+
+        // Each pool reports its own hikaricp.* metrics
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-up").gauge());
+    }
+}
@@ -0,0 +1,132 @@
+package com.joey.stanley.group.project.feedback_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaA;
+
+    @Mock
+    private DataSource replicaB;
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("a", replicaA);
+        replicas.put("b", replicaB);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(30), meterRegistry);
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    // A connection whose lag query answers with the given number of seconds
+    private static Connection lagging(double lagSeconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        return connection;
+    }
+
+    private void markBothHealthy() throws SQLException {
+        Connection a = lagging(0);
+        Connection b = lagging(0);
+        when(replicaA.getConnection()).thenReturn(a);
+        when(replicaB.getConnection()).thenReturn(b);
+        routingDataSource.checkHealth();
+    }
+
+    @Test
+    void getConnection_usesPrimary_untilFirstHealthCheckPasses() throws Exception {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1.0, meterRegistry.get("feedback.datasource.replica.fallback").counter().count());
+    }
+
+    @Test
+    void getConnection_alternatesBetweenHealthyReplicas() throws Exception {
+        markBothHealthy();
+
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        when(replicaA.getConnection()).thenReturn(first);
+        when(replicaB.getConnection()).thenReturn(second);
+
+        assertSame(first, routingDataSource.getConnection());
+        assertSame(second, routingDataSource.getConnection());
+        assertSame(first, routingDataSource.getConnection());
+    }
+
+    @Test
+    void checkHealth_takesLaggingOrUnreachableReplicaOutOfRotation() throws Exception {
+        Connection behind = lagging(120);
+        when(replicaA.getConnection()).thenReturn(behind);
+        when(replicaB.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routingDataSource.checkHealth();
+
+        assertFalse(routingDataSource.isHealthy("a"));
+        assertFalse(routingDataSource.isHealthy("b"));
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(0.0, meterRegistry.get("feedback.datasource.replica.healthy").tag("replica", "a").gauge().value());
+
+        // Caught up again: back in rotation on the next check
+        Connection caughtUp = lagging(1);
+        when(replicaA.getConnection()).thenReturn(caughtUp);
+        routingDataSource.checkHealth();
+        assertTrue(routingDataSource.isHealthy("a"));
+    }
+
+    @Test
+    void getConnection_fallsBackToNextReplica_thenPrimary_whenReplicasRefuse() throws Exception {
+        markBothHealthy();
+
+        Connection fromB = mock(Connection.class);
+        when(replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replicaB.getConnection()).thenReturn(fromB);
+
+        // a is tried first, fails and is marked down; b serves the read
+        assertSame(fromB, routingDataSource.getConnection());
+        assertFalse(routingDataSource.isHealthy("a"));
+
+        when(replicaB.getConnection()).thenThrow(new SQLException("Connection refused"));
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertFalse(routingDataSource.isHealthy("b"));
+    }
+}
@@ -1,41 +1,89 @@
 package com.joey.stanley.group.project.feedback_api.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.hamcrest.Matchers.is;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.dtos.BatchFeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.dtos.BatchFeedbackResult;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackFilter;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackPage;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError;
 import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.services.AsyncFeedbackService;
+import com.joey.stanley.group.project.feedback_api.services.FeedbackExportService;
 import com.joey.stanley.group.project.feedback_api.services.FeedbackService;
+import com.joey.stanley.group.project.feedback_api.services.FeedbackStreamService;
+import com.joey.stanley.group.project.feedback_api.services.IdempotencyKeyReusedException;
+import com.joey.stanley.group.project.feedback_api.services.IdempotencyService;
+import com.joey.stanley.group.project.feedback_api.services.IdempotentFeedback;
+import com.joey.stanley.group.project.feedback_api.services.ServiceBusyException;
 import com.joey.stanley.group.project.feedback_api.services.ValidationException;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-@WebMvcTest(value = FeedbackController.class)
+// The rate limiter has its own tests and needs a MeterRegistry, which this slice does not provide
+@WebMvcTest(value = FeedbackController.class, properties = "feedback.rate-limit.enabled=false")
 public class FeedbackControllerTest {
 
     @MockitoBean
     private FeedbackService feedbackService;
 
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private AsyncFeedbackService asyncFeedbackService;
+
+    @MockitoBean
+    private FeedbackStreamService feedbackStreamService;
+
+    @MockitoBean
+    private FeedbackExportService feedbackExportService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -45,6 +93,8 @@ public class FeedbackControllerTest {
     }
 
     private static String API_ROOT = "/api/v1/feedback";
+    private static String API_BATCH = "/batch";
+    private static String API_ASYNC = "/async";
     private static String API_FEEDBACK_PARAM = "/{feedbackId}";
     private static String API_MEMBER_PARAM = "?memberId=";
     
@@ -119,6 +169,163 @@ public class FeedbackControllerTest {
         verify(feedbackService).createFeedback(any(FeedbackRequest.class));
     }
 
+    @Test
+    void createNewFeedback_returnsOriginalWithReplayedHeader_whenIdempotencyKeyRepeats() throws Exception {
+        FeedbackRequest validRequest = createValidFeedbackRequest();
+        FeedbackResponse originalResponse = createValidResponse();
+
+        when(idempotencyService.createFeedback(eq("retry-key-1"), any(FeedbackRequest.class)))
+                .thenReturn(new IdempotentFeedback(originalResponse, true));
+
+        mockMvc.perform(post(API_ROOT)
+                        .header(FeedbackController.IDEMPOTENCY_KEY_HEADER, "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(validRequest)))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(FeedbackController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath(FEEDBACK_ID_PATH, is(originalResponse.getId().toString())));
+
+        verify(feedbackService, never()).createFeedback(any(FeedbackRequest.class));
+    }
+
+    @Test
+    void createNewFeedback_omitsReplayedHeader_whenIdempotencyKeyIsNew() throws Exception {
+        FeedbackRequest validRequest = createValidFeedbackRequest();
+
+        when(idempotencyService.createFeedback(eq("fresh-key"), any(FeedbackRequest.class)))
+                .thenReturn(new IdempotentFeedback(createValidResponse(), false));
+
+        mockMvc.perform(post(API_ROOT)
+                        .header(FeedbackController.IDEMPOTENCY_KEY_HEADER, "fresh-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(validRequest)))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(FeedbackController.IDEMPOTENT_REPLAYED_HEADER));
+    }
+
+    @Test
+    void createNewFeedback_returnsUnprocessableEntity_whenIdempotencyKeyIsReusedWithDifferentBody() throws Exception {
+        FeedbackRequest validRequest = createValidFeedbackRequest();
+
+        when(idempotencyService.createFeedback(eq("reused-key"), any(FeedbackRequest.class)))
+                .thenThrow(new IdempotencyKeyReusedException("reused-key"));
+
+        mockMvc.perform(post(API_ROOT)
+                        .header(FeedbackController.IDEMPOTENCY_KEY_HEADER, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(validRequest)))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createNewFeedbackAsync_returnsCreatedResponse_whenCreateCompletes() throws Exception {
+        FeedbackRequest validRequest = createValidFeedbackRequest();
+        FeedbackResponse validResponse = createValidResponse();
+
+        when(asyncFeedbackService.createFeedback(any(FeedbackRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(validResponse));
+
+        MvcResult pending = mockMvc.perform(post(API_ROOT + API_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(validRequest)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/feedback/" + validResponse.getId()))
+            .andExpect(jsonPath(MEMBER_ID_PATH, is(MOCK_MEMBER_ID)));
+    }
+
+    @Test
+    void createNewFeedbackAsync_passesIdempotencyKeyThrough_andMarksReplays() throws Exception {
+        FeedbackResponse originalResponse = createValidResponse();
+
+        when(asyncFeedbackService.createFeedback(any(FeedbackRequest.class), eq("async-retry-key")))
+                .thenReturn(CompletableFuture.completedFuture(new IdempotentFeedback(originalResponse, true)));
+
+        MvcResult pending = mockMvc.perform(post(API_ROOT + API_ASYNC)
+                        .header(FeedbackController.IDEMPOTENCY_KEY_HEADER, "async-retry-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(createValidFeedbackRequest())))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(FeedbackController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath(FEEDBACK_ID_PATH, is(originalResponse.getId().toString())));
+
+        verify(asyncFeedbackService, never()).createFeedback(any(FeedbackRequest.class));
+    }
+
+    @Test
+    void createNewFeedbackAsync_returnsUnprocessableEntity_whenRacingRequestReusedKeyWithDifferentBody() throws Exception {
+        when(asyncFeedbackService.createFeedback(any(FeedbackRequest.class), eq("async-reused-key")))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new CompletionException(new IdempotencyKeyReusedException("async-reused-key"))));
+
+        MvcResult pending = mockMvc.perform(post(API_ROOT + API_ASYNC)
+                        .header(FeedbackController.IDEMPOTENCY_KEY_HEADER, "async-reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(createValidFeedbackRequest())))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createNewFeedbackAsync_returnsServiceUnavailableWithRetryAfter_whenSaturated() throws Exception {
+        when(asyncFeedbackService.createFeedback(any(FeedbackRequest.class)))
+                .thenThrow(new ServiceBusyException("Too many feedback submissions in flight, retry later", Duration.ofSeconds(3)));
+
+        MvcResult pending = mockMvc.perform(post(API_ROOT + API_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(createValidFeedbackRequest())))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+    }
+
+    @Test
+    void createNewFeedbackAsync_returnsBadRequest_whenValidationFails() throws Exception {
+        when(asyncFeedbackService.createFeedback(any(FeedbackRequest.class)))
+                .thenThrow(new ValidationException("Field 'rating' must be an integer between 1 and 5"));
+
+        MvcResult pending = mockMvc.perform(post(API_ROOT + API_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(createValidFeedbackRequest())))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamFeedback_opensEventStream_withFilters() throws Exception {
+        when(feedbackStreamService.subscribe(MOCK_MEMBER_ID, null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get(API_ROOT + "/stream?memberId=" + MOCK_MEMBER_ID)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andExpect(status().isOk());
+
+        verify(feedbackStreamService).subscribe(MOCK_MEMBER_ID, null);
+    }
+
+    @Test
+    void streamFeedback_returnsServiceUnavailable_whenNodeIsAtCapacity() throws Exception {
+        when(feedbackStreamService.subscribe(isNull(), isNull()))
+            .thenThrow(new ServiceBusyException("Too many open feedback streams, retry later", Duration.ofSeconds(5)));
+
+        mockMvc.perform(get(API_ROOT + "/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
     @Test
     void findFeedbackById_returnsOk_whenFeedbackExists() throws Exception {
         Feedback validFeedback = createValidFeedback();
@@ -135,7 +342,34 @@ public class FeedbackControllerTest {
             .andExpect(jsonPath(MEMBER_ID_PATH, is(MOCK_MEMBER_ID)))
             .andExpect(jsonPath(PROVIDER_NAME_PATH, is(MOCK_PROVIDER_NAME)))
             .andExpect(jsonPath(RATING_PATH, is(MOCK_RATING)))
-            .andExpect(jsonPath(COMMENT_PATH, is(MOCK_COMMENT)));
+            .andExpect(jsonPath(COMMENT_PATH, is(MOCK_COMMENT)))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + validUUID + "\""));
+
+        verify(feedbackService).findFeedbackById(validUUID);
+    }
+
+    @Test
+    void findFeedbackById_returnsNotModified_withoutLookup_whenIfNoneMatchMatches() throws Exception {
+        UUID validUUID = UUID.randomUUID();
+
+        mockMvc.perform(get(API_ROOT + API_FEEDBACK_PARAM, validUUID.toString())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + validUUID + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + validUUID + "\""))
+            .andExpect(content().string(""));
+
+        verify(feedbackService, never()).findFeedbackById(any(UUID.class));
+    }
+
+    @Test
+    void findFeedbackById_returnsNotFound_despiteMatchingIfNoneMatch_whenEntryMayBeRetired() throws Exception {
+        UUID validUUID = UUID.randomUUID();
+        when(feedbackService.mayBeRetired(validUUID)).thenReturn(true);
+        when(feedbackService.findFeedbackById(validUUID)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get(API_ROOT + API_FEEDBACK_PARAM, validUUID.toString())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + validUUID + "\""))
+            .andExpect(status().isNotFound());
 
         verify(feedbackService).findFeedbackById(validUUID);
     }
@@ -160,14 +394,229 @@ public class FeedbackControllerTest {
         List<FeedbackResponse> responseList = new ArrayList<>();
         responseList.add(validResponse);
 
-        when(feedbackService.findFeedbackByMemberId(any(String.class)))
-            .thenReturn(responseList);
+        when(feedbackService.findFeedbackByMemberId(any(String.class), isNull(), isNull()))
+            .thenReturn(FeedbackPage.of(responseList, null));
 
         mockMvc.perform(get(API_ROOT + API_MEMBER_PARAM + MOCK_MEMBER_ID))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().doesNotExist(FeedbackController.NEXT_CURSOR_HEADER));
+
+        verify(feedbackService).findFeedbackByMemberId(MOCK_MEMBER_ID, null, null);
+    }
+
+    @Test
+    void findFeedbackByMemberId_returnsNextCursorHeader_whenMorePagesExist() throws Exception {
+        List<FeedbackResponse> responseList = List.of(createValidResponse());
+
+        when(feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, 1, "previous-cursor"))
+            .thenReturn(FeedbackPage.of(responseList, "next-cursor"));
+
+        mockMvc.perform(get(API_ROOT + API_MEMBER_PARAM + MOCK_MEMBER_ID + "&limit=1&cursor=previous-cursor"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(FeedbackController.NEXT_CURSOR_HEADER, "next-cursor"));
+    }
+
+    @Test
+    void findFeedbackByMemberId_returnsVersionETag_andNotModifiedWithoutLoadingPage_whenItMatches() throws Exception {
+        when(feedbackService.findMemberFeedbackVersion(MOCK_MEMBER_ID)).thenReturn(7L);
+        when(feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, null, null))
+            .thenReturn(FeedbackPage.of(List.of(createValidResponse()), null));
+
+        mockMvc.perform(get(API_ROOT + API_MEMBER_PARAM + MOCK_MEMBER_ID))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"7\""));
+
+        mockMvc.perform(get(API_ROOT + API_MEMBER_PARAM + MOCK_MEMBER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"7\""));
+
+        //A stale ETag gets the fresh page
+        mockMvc.perform(get(API_ROOT + API_MEMBER_PARAM + MOCK_MEMBER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"6\""))
+            .andExpect(status().isOk())
             .andExpect(jsonPath("$.length()").value(1));
 
-        verify(feedbackService).findFeedbackByMemberId(MOCK_MEMBER_ID);
+        verify(feedbackService, times(2)).findFeedbackByMemberId(MOCK_MEMBER_ID, null, null);
+    }
+
+    @Test
+    void findFeedbackByMemberId_returnsBadRequest_whenLimitIsInvalid() throws Exception {
+        when(feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, 0, null))
+            .thenThrow(new ValidationException("Parameter 'limit' must be an integer between 1 and 500"));
+
+        mockMvc.perform(get(API_ROOT + API_MEMBER_PARAM + MOCK_MEMBER_ID + "&limit=0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findFeedback_bindsFiltersFromQueryString() throws Exception {
+        when(feedbackService.findFeedback(any(FeedbackFilter.class), eq(10), isNull()))
+            .thenReturn(FeedbackPage.of(List.of(createValidResponse()), "next-cursor"));
+
+        mockMvc.perform(get(API_ROOT + "/filter")
+                .param("providerName", MOCK_PROVIDER_NAME)
+                .param("maxRating", "2")
+                .param("from", "2025-01-01T00:00:00Z")
+                .param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(FeedbackController.NEXT_CURSOR_HEADER, "next-cursor"));
+
+        verify(feedbackService).findFeedback(argThat(filter -> MOCK_PROVIDER_NAME.equals(filter.getProviderName())
+                && filter.getMinRating() == null
+                && Integer.valueOf(2).equals(filter.getMaxRating())
+                && Instant.parse("2025-01-01T00:00:00Z").equals(filter.getFrom())
+                && filter.getTo() == null), eq(10), isNull());
+    }
+
+    @Test
+    void findFeedback_returnsBadRequest_whenFilterIsInvalid() throws Exception {
+        when(feedbackService.findFeedback(any(FeedbackFilter.class), isNull(), isNull()))
+            .thenThrow(new ValidationException("Parameter 'minRating' must not be greater than 'maxRating'"));
+
+        mockMvc.perform(get(API_ROOT + "/filter").param("minRating", "4").param("maxRating", "2"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Parameter 'minRating' must not be greater than 'maxRating'"));
+    }
+
+    @Test
+    void searchFeedback_returnsMatchesWithNextCursorHeader_whenMorePagesExist() throws Exception {
+        when(feedbackService.searchFeedback("rude staff", 1, null))
+            .thenReturn(FeedbackPage.of(List.of(createValidResponse()), "1"));
+
+        mockMvc.perform(get(API_ROOT + "/search").param("q", "rude staff").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(FeedbackController.NEXT_CURSOR_HEADER, "1"));
+    }
+
+    @Test
+    void searchFeedback_returnsBadRequest_whenQueryIsMissing() throws Exception {
+        when(feedbackService.searchFeedback(isNull(), isNull(), isNull()))
+            .thenThrow(new ValidationException("Parameter 'q' must be between 1 and 200 characters"));
+
+        mockMvc.perform(get(API_ROOT + "/search"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Parameter 'q' must be between 1 and 200 characters"));
+    }
+
+    @Test
+    void createNewFeedbackBatch_returnsPerItemResults_whenBatchIsProcessed() throws Exception {
+        List<FeedbackRequest> requests = List.of(createValidFeedbackRequest(), new FeedbackRequest());
+        List<BatchFeedbackResult> results = List.of(
+                BatchFeedbackResult.created(0, createValidResponse()),
+                BatchFeedbackResult.rejected(1, "Field 'memberId' must be ≤ 36 characters or not null"));
+
+        when(feedbackService.createFeedbackBatch(anyList()))
+            .thenReturn(BatchFeedbackResponse.from(results));
+
+        mockMvc.perform(post(API_ROOT + API_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(requests)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created", is(1)))
+            .andExpect(jsonPath("$.rejected", is(1)))
+            .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+            .andExpect(jsonPath("$.results[0].feedback.memberId", is(MOCK_MEMBER_ID)))
+            .andExpect(jsonPath("$.results[1].status", is("REJECTED")));
+
+        verify(feedbackService).createFeedbackBatch(anyList());
+    }
+
+    @Test
+    void createNewFeedbackBatch_returnsBadRequest_whenBatchIsRejected() throws Exception {
+        when(feedbackService.createFeedbackBatch(anyList()))
+                .thenThrow(new ValidationException("Batch must contain between 1 and 1000 feedback entries"));
+
+        mockMvc.perform(post(API_ROOT + API_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createNewFeedback_returnsEveryFieldError_whenSeveralFieldsAreInvalid() throws Exception {
+        FeedbackRequest invalidRequest = createValidFeedbackRequest();
+        when(feedbackService.createFeedback(any(FeedbackRequest.class)))
+                .thenThrow(new ValidationException(List.of(
+                        new FieldValidationError("memberId", FieldValidationError.REQUIRED, "Field 'memberId' is required"),
+                        new FieldValidationError("rating", FieldValidationError.OUT_OF_RANGE, "Field 'rating' must be an integer between 1 and 5"))));
+
+        mockMvc.perform(post(API_ROOT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(invalidRequest)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0].field", is("memberId")))
+            .andExpect(jsonPath("$.errors[0].code", is("required")))
+            .andExpect(jsonPath("$.errors[1].field", is("rating")))
+            .andExpect(jsonPath("$.errors[1].code", is("out_of_range")));
+    }
+
+    @Test
+    void exportFeedback_streamsCsvAttachment() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(5);
+            out.write("id,memberId\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(feedbackExportService).export(eq(MOCK_MEMBER_ID), isNull(), isNull(), isNull(), eq(FeedbackExportService.Format.CSV), any(OutputStream.class));
+        when(feedbackExportService.getTimeout()).thenReturn(Duration.ofMinutes(30));
+        Runnable release = mock(Runnable.class);
+        when(feedbackExportService.reserve()).thenReturn(new FeedbackExportService.Slot(release));
+
+        MvcResult pending = mockMvc.perform(get(API_ROOT + "/export")
+                        .param("memberId", MOCK_MEMBER_ID)
+                        .param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), pending.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"feedback-export.csv\""))
+            .andExpect(content().string("id,memberId\n"));
+        //Closed by the body and again when the async request completes, but given back only once
+        verify(release, times(1)).run();
+    }
+
+    @Test
+    void exportFeedback_givesSlotBack_whenExportFails() throws Exception {
+        Runnable release = mock(Runnable.class);
+        when(feedbackExportService.reserve()).thenReturn(new FeedbackExportService.Slot(release));
+        doThrow(new IOException("client went away")).when(feedbackExportService)
+                .export(eq(MOCK_MEMBER_ID), isNull(), isNull(), isNull(), any(), any(OutputStream.class));
+
+        MvcResult pending = mockMvc.perform(get(API_ROOT + "/export").param("memberId", MOCK_MEMBER_ID))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        pending.getAsyncResult();
+
+        verify(release, times(1)).run();
+    }
+
+    @Test
+    void exportFeedback_returnsServiceUnavailable_whenTooManyExportsRun() throws Exception {
+        doThrow(new ServiceBusyException("busy", Duration.ofSeconds(30))).when(feedbackExportService).reserve();
+
+        mockMvc.perform(get(API_ROOT + "/export").param("memberId", MOCK_MEMBER_ID))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+        verify(feedbackExportService, never()).export(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void exportFeedback_returnsBadRequest_whenNeitherMemberNorProviderIsGiven() throws Exception {
+        MvcResult pending = mockMvc.perform(get(API_ROOT + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", is("Parameter 'memberId' or 'providerName' is required")));
+        verify(feedbackExportService, never()).export(any(), any(), any(), any(), any(), any());
     }
 }
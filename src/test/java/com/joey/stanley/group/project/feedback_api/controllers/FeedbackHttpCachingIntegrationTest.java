@@ -0,0 +1,89 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.services.FeedbackService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+// Compression happens in Tomcat, and the ETag has to follow real inserts, so this runs against the full stack
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "feedback.outbox.relay.enabled=false")
+public class FeedbackHttpCachingIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private static FeedbackRequest createRequest(String memberId) {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId(memberId);
+        request.setProviderName("Dr. Conditional Get");
+        request.setRating(4);
+        request.setComment("Long enough that a page of these is worth compressing. ".repeat(3));
+        return request;
+    }
+
+    private HttpResponse<InputStream> getMemberList(String memberId, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/feedback?memberId=" + memberId))
+                .header("Accept-Encoding", "gzip");
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    @Test
+    void memberList_isGzipped_andRevalidatedByVersionETag() throws Exception {
+        String memberId = "m-" + UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < 20; i++) {
+            feedbackService.createFeedback(createRequest(memberId));
+        }
+
+        HttpResponse<InputStream> first = getMemberList(memberId, null);
+        assertEquals(200, first.statusCode());
+        assertEquals("gzip", first.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode items;
+        try (InputStream body = new GZIPInputStream(first.body())) {
+            items = objectMapper.readTree(body);
+        }
+        assertEquals(20, items.size());
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<InputStream> unchanged = getMemberList(memberId, etag);
+        assertEquals(304, unchanged.statusCode());
+        try (InputStream body = unchanged.body()) {
+            assertTrue(body.readAllBytes().length == 0, "304 must not carry a body");
+        }
+
+        feedbackService.createFeedback(createRequest(memberId));
+        HttpResponse<InputStream> changed = getMemberList(memberId, etag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        changed.body().close();
+    }
+}
@@ -0,0 +1,95 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.joey.stanley.group.project.feedback_api.dtos.ProviderStatsResponse;
+import com.joey.stanley.group.project.feedback_api.entity.ProviderRatingStats;
+import com.joey.stanley.group.project.feedback_api.services.ProviderStatsService;
+import com.joey.stanley.group.project.feedback_api.services.ValidationException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+// The rate limiter has its own tests and needs a MeterRegistry, which this slice does not provide
+@WebMvcTest(value = ProviderStatsController.class, properties = "feedback.rate-limit.enabled=false")
+public class ProviderStatsControllerTest {
+
+    @MockitoBean
+    private ProviderStatsService providerStatsService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static String API_ROOT = "/api/v1/providers";
+    private static String MOCK_PROVIDER_NAME = "Dr. Awesome";
+
+    private static ProviderStatsResponse createStatsResponse() {
+        ProviderRatingStats stats = new ProviderRatingStats();
+        stats.setProviderName(MOCK_PROVIDER_NAME);
+        stats.setFeedbackCount(4);
+        stats.setRatingSum(15);
+        stats.setThreeStarCount(1);
+        stats.setFourStarCount(2);
+        stats.setFiveStarCount(1);
+        return ProviderStatsResponse.from(stats);
+    }
+
+    @Test
+    void findProviderStats_returnsOk_whenProviderHasFeedback() throws Exception {
+        when(providerStatsService.findStats(MOCK_PROVIDER_NAME))
+            .thenReturn(Optional.of(createStatsResponse()));
+
+        mockMvc.perform(get(API_ROOT + "/{providerName}/stats", MOCK_PROVIDER_NAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.providerName", is(MOCK_PROVIDER_NAME)))
+            .andExpect(jsonPath("$.feedbackCount", is(4)))
+            .andExpect(jsonPath("$.averageRating", is(3.75)))
+            .andExpect(jsonPath("$.ratingDistribution.4", is(2)))
+            .andExpect(jsonPath("$.ratingDistribution.1", is(0)));
+
+        verify(providerStatsService).findStats(MOCK_PROVIDER_NAME);
+    }
+
+    @Test
+    void findProviderStats_returnsNotFound_whenProviderIsUnknown() throws Exception {
+        when(providerStatsService.findStats(MOCK_PROVIDER_NAME))
+            .thenReturn(Optional.empty());
+
+        mockMvc.perform(get(API_ROOT + "/{providerName}/stats", MOCK_PROVIDER_NAME))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void findTopProviderStats_returnsList() throws Exception {
+        when(providerStatsService.findTopProviders(5))
+            .thenReturn(List.of(createStatsResponse()));
+
+        mockMvc.perform(get(API_ROOT + "/stats?top=5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$.length()").value(1));
+
+        verify(providerStatsService).findTopProviders(5);
+    }
+
+    @Test
+    void findTopProviderStats_returnsBadRequest_whenTopIsOutOfRange() throws Exception {
+        when(providerStatsService.findTopProviders(anyInt()))
+            .thenThrow(new ValidationException("Parameter 'top' must be an integer between 1 and 100"));
+
+        mockMvc.perform(get(API_ROOT + "/stats?top=0"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,144 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.config.RateLimitProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+public class RateLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Rule create = new RateLimitProperties.Rule();
+        create.setName("create");
+        create.setMethod("POST");
+        create.setPath("/api/v1/feedback/**");
+        create.setCapacity(2);
+        create.setRefillPerSecond(0.1);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(create));
+        properties.setApiKeys(List.of("integrator-a", "integrator-b"));
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new RateLimitInterceptor(properties, meterRegistry, new ObjectMapper());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddr, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+
+    private boolean allowed(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        return interceptor.preHandle(request, response, new Object());
+    }
+
+    @Test
+    void preHandle_rejectsWith429AndRetryAfter_onceClientExhaustsBucket() throws Exception {
+        assertTrue(allowed(request("POST", "/api/v1/feedback", "10.0.0.1", null), new MockHttpServletResponse()));
+        assertTrue(allowed(request("POST", "/api/v1/feedback/batch", "10.0.0.1", null), new MockHttpServletResponse()));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(allowed(request("POST", "/api/v1/feedback", "10.0.0.1", null), rejected));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("10", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+        assertEquals(1.0, meterRegistry.get("feedback.rate-limit.rejected").tag("rule", "create").counter().count());
+    }
+
+    @Test
+    void preHandle_keepsSeparateBucketsPerClient() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(allowed(request("POST", "/api/v1/feedback", "10.0.0.1", "integrator-a"), new MockHttpServletResponse()));
+        }
+        assertFalse(allowed(request("POST", "/api/v1/feedback", "10.0.0.1", "integrator-a"), new MockHttpServletResponse()));
+
+        //Same address, different key; and same address without a key
+        assertTrue(allowed(request("POST", "/api/v1/feedback", "10.0.0.1", "integrator-b"), new MockHttpServletResponse()));
+        assertTrue(allowed(request("POST", "/api/v1/feedback", "10.0.0.1", null), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void preHandle_limitsUnknownKeysByRemoteAddress() throws Exception {
+        //Rotating made-up keys does not earn a fresh bucket each time
+        assertTrue(allowed(request("POST", "/api/v1/feedback", "10.0.0.2", "made-up-1"), new MockHttpServletResponse()));
+        assertTrue(allowed(request("POST", "/api/v1/feedback", "10.0.0.2", "made-up-2"), new MockHttpServletResponse()));
+        assertFalse(allowed(request("POST", "/api/v1/feedback", "10.0.0.2", "made-up-3"), new MockHttpServletResponse()));
+        assertFalse(allowed(request("POST", "/api/v1/feedback", "10.0.0.2", null), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void asyncDispatch_doesNotSpendASecondToken() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AsyncController())
+                .addInterceptors(interceptor)
+                .build();
+        //Leave the client one token
+        assertTrue(allowed(request("POST", "/api/v1/feedback", "10.0.0.3", null), new MockHttpServletResponse()));
+
+        MvcResult pending = mockMvc.perform(post("/api/v1/feedback/async").with(remoteAddr("10.0.0.3")))
+            //MockMvcResultMatchers.request is shadowed by this class's request(...) helper
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isCreated());
+
+        //The initial dispatch took the last token, and only that one
+        assertFalse(allowed(request("POST", "/api/v1/feedback", "10.0.0.3", null), new MockHttpServletResponse()));
+        assertEquals(1.0, meterRegistry.get("feedback.rate-limit.rejected").tag("rule", "create").counter().count());
+    }
+
+    private static RequestPostProcessor remoteAddr(String remoteAddr) {
+        return request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        };
+    }
+
+    @RestController
+    static class AsyncController {
+
+        @PostMapping("/api/v1/feedback/async")
+        CompletableFuture<ResponseEntity<String>> create() {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CREATED).body("created"));
+        }
+    }
+
+    @Test
+    void preHandle_ignoresRequestsNoRuleMatches() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(allowed(request("GET", "/api/v1/feedback", "10.0.0.1", null), new MockHttpServletResponse()));
+        }
+    }
+}
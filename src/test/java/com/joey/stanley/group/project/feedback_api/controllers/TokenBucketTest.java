@@ -0,0 +1,47 @@
+package com.joey.stanley.group.project.feedback_api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_allowsBurstUpToCapacity_thenReportsWait() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(3, 1.0, now);
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+
+        long wait = bucket.tryAcquire(now);
+        assertEquals(SECOND, wait);
+    }
+
+    @Test
+    void tryAcquire_refillsAtConfiguredRate() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(1, 2.0, now);
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now + SECOND / 4) > 0);
+        assertEquals(0, bucket.tryAcquire(now + SECOND / 2));
+    }
+
+    @Test
+    void tryAcquire_doesNotBankTokensBeyondCapacity_afterLongIdle() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(2, 1.0, now);
+        long later = now + 60 * SECOND;
+
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+}
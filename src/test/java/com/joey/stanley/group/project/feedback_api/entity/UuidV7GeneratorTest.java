@@ -0,0 +1,42 @@
+package com.joey.stanley.group.project.feedback_api.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    void next_producesVersion7Ids() {
+        UUID id = UuidV7Generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_isStrictlyIncreasing_evenWithinOneMillisecond() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7Generator.next();
+            // Compare as unsigned, the way Postgres orders uuid columns
+            int order = Long.compareUnsigned(previous.getMostSignificantBits(), current.getMostSignificantBits());
+            assertTrue(order < 0, "Ids went backwards: " + previous + " then " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void timestampOf_recoversCreationTime() {
+        Instant before = Instant.now().minusMillis(1);
+        Instant embedded = UuidV7Generator.timestampOf(UuidV7Generator.next());
+
+        assertTrue(!embedded.isBefore(before));
+        assertNull(UuidV7Generator.timestampOf(UUID.randomUUID()));
+    }
+}
@@ -3,15 +3,19 @@ package com.joey.stanley.group.project.feedback_api.messaging;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
@@ -21,6 +25,7 @@ import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -44,6 +49,9 @@ public class FeedbackEventPublisherTest {
     @Autowired
     private FeedbackEventPublisher publisher;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void kafkaPublishMessageSuccessTest() throws Exception {
         Feedback validFeedback = new Feedback();
@@ -55,8 +63,53 @@ public class FeedbackEventPublisherTest {
         validFeedback.setSubmittedAt(Instant.now());
         
         FeedbackSubmittedEvent event = FeedbackSubmittedEvent.fromEntityToEvent(validFeedback);
+        when(mockKafka.send(eq("feedback-submitted"), any(String.class), any(FeedbackSubmittedEvent.class)))
+            .thenReturn(new CompletableFuture<>());
         publisher.publishFeedbackEvent(event);
 
-        verify(mockKafka).send(eq("feedback-submitted"), any(FeedbackSubmittedEvent.class));
+        verify(mockKafka).send(eq("feedback-submitted"), eq("m-6553"), any(FeedbackSubmittedEvent.class));
+    }
+
+    @Test
+    void kafkaPublishTracksInFlightAndSendLatency() throws Exception {
+        Feedback validFeedback = new Feedback();
+        validFeedback.setId(UUID.randomUUID());
+        validFeedback.setMemberId("m-6553");
+        validFeedback.setProviderName("Definitely Real Doctor");
+        validFeedback.setRating(3);
+        validFeedback.setComment("Measured, as doctors go");
+        validFeedback.setSubmittedAt(Instant.now());
+
+        CompletableFuture<Object> ack = new CompletableFuture<>();
+        when(mockKafka.send(eq("feedback-submitted"), any(String.class), any(FeedbackSubmittedEvent.class)))
+            .thenReturn(ack);
+        double inFlightBefore = meterRegistry.get("feedback.events.in-flight").gauge().value();
+        long sentBefore = meterRegistry.get("feedback.events.send").tag("result", "success").timer().count();
+
+        publisher.publishFeedbackEvent(FeedbackSubmittedEvent.fromEntityToEvent(validFeedback));
+        assertEquals(inFlightBefore + 1, meterRegistry.get("feedback.events.in-flight").gauge().value());
+
+        ack.complete(null);
+        assertEquals(inFlightBefore, meterRegistry.get("feedback.events.in-flight").gauge().value());
+        assertEquals(sentBefore + 1, meterRegistry.get("feedback.events.send").tag("result", "success").timer().count());
+    }
+
+    @Test
+    void kafkaPublishBatchSendsEveryEventThenFlushes() throws Exception {
+        Feedback validFeedback = new Feedback();
+        validFeedback.setId(UUID.randomUUID());
+        validFeedback.setMemberId("m-6553");
+        validFeedback.setProviderName("Definitely Real Doctor");
+        validFeedback.setRating(4);
+        validFeedback.setComment("Still a real doctor!");
+        validFeedback.setSubmittedAt(Instant.now());
+
+        FeedbackSubmittedEvent event = FeedbackSubmittedEvent.fromEntityToEvent(validFeedback);
+        when(mockKafka.send(eq("feedback-submitted"), any(String.class), any(FeedbackSubmittedEvent.class)))
+            .thenReturn(new CompletableFuture<>());
+        publisher.publishFeedbackEvents(List.of(event, event));
+
+        verify(mockKafka, times(2)).send(eq("feedback-submitted"), eq("m-6553"), any(FeedbackSubmittedEvent.class));
+        verify(mockKafka).flush();
     }
 }
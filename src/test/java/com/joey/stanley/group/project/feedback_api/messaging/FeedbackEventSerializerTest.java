@@ -0,0 +1,112 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+public class FeedbackEventSerializerTest {
+
+    private static final String TOPIC = "feedback-submitted";
+
+    private static FeedbackSubmittedEvent createEvent(String comment) {
+        Feedback feedback = new Feedback();
+        feedback.setId(UUID.randomUUID());
+        feedback.setMemberId("m-6553");
+        feedback.setProviderName("Definitely Real Doctor");
+        feedback.setRating(5);
+        feedback.setComment(comment);
+        feedback.setSubmittedAt(Instant.parse("2025-11-03T14:15:16.123456Z"));
+        return FeedbackSubmittedEvent.fromEntityToEvent(feedback);
+    }
+
+    private static void assertSameEvent(FeedbackSubmittedEvent expected, FeedbackSubmittedEvent actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getMemberId(), actual.getMemberId());
+        assertEquals(expected.getProviderName(), actual.getProviderName());
+        assertEquals(expected.getRating(), actual.getRating());
+        assertEquals(expected.getComment(), actual.getComment());
+        assertEquals(expected.getSubmittedAt(), actual.getSubmittedAt());
+        assertEquals(expected.getSchemaVersion(), actual.getSchemaVersion());
+    }
+
+    private static byte[] serialize(FeedbackEventFormat format, RecordHeaders headers, FeedbackSubmittedEvent event) {
+        try (FeedbackEventSerializer serializer = new FeedbackEventSerializer(format)) {
+            serializer.configure(Map.of(), false);
+            return serializer.serialize(TOPIC, headers, event);
+        }
+    }
+
+    @Test
+    void binaryFormat_roundTripsThroughDeserializer() {
+        FeedbackSubmittedEvent event = createEvent("Wow! A real doctor this time! Ünïcödé too ✓");
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] payload = serialize(FeedbackEventFormat.BINARY, headers, event);
+
+        assertEquals(FeedbackEventFormat.BINARY.getContentType(),
+                new String(headers.lastHeader(FeedbackEventSerializer.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+        assertEquals("1",
+                new String(headers.lastHeader(FeedbackEventSerializer.SCHEMA_VERSION_HEADER).value(), StandardCharsets.UTF_8));
+        try (FeedbackEventDeserializer deserializer = new FeedbackEventDeserializer()) {
+            assertSameEvent(event, deserializer.deserialize(TOPIC, headers, payload));
+        }
+    }
+
+    @Test
+    void binaryFormat_keepsNullComment() {
+        FeedbackSubmittedEvent event = createEvent(null);
+
+        FeedbackSubmittedEvent decoded = FeedbackEventCodec.decode(FeedbackEventCodec.encode(event), 1);
+
+        assertNull(decoded.getComment());
+        assertSameEvent(event, decoded);
+    }
+
+    @Test
+    void jsonFormat_roundTripsThroughDeserializer() {
+        FeedbackSubmittedEvent event = createEvent("Still a real doctor!");
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] payload = serialize(FeedbackEventFormat.JSON, headers, event);
+
+        assertEquals(FeedbackEventFormat.JSON.getContentType(),
+                new String(headers.lastHeader(FeedbackEventSerializer.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+        try (FeedbackEventDeserializer deserializer = new FeedbackEventDeserializer()) {
+            assertSameEvent(event, deserializer.deserialize(TOPIC, headers, payload));
+        }
+    }
+
+    @Test
+    void binaryFormat_isLessThanHalfTheSizeOfJson() {
+        FeedbackSubmittedEvent event = createEvent("Nice guy, but I'm suspicious about his license...");
+
+        byte[] json = serialize(FeedbackEventFormat.JSON, new RecordHeaders(), event);
+        byte[] binary = serialize(FeedbackEventFormat.BINARY, new RecordHeaders(), event);
+
+        assertTrue(binary.length * 2 < json.length,
+                "Expected binary (" + binary.length + " bytes) to be under half of JSON (" + json.length + " bytes)");
+    }
+
+    @Test
+    void binaryFormat_rejectsTruncatedPayloadAndUnknownSchemaVersion() {
+        byte[] payload = FeedbackEventCodec.encode(createEvent("Cut short"));
+
+        assertThrows(SerializationException.class,
+                () -> FeedbackEventCodec.decode(Arrays.copyOf(payload, payload.length - 3), 1));
+        assertThrows(SerializationException.class, () -> FeedbackEventCodec.decode(payload, 2));
+    }
+}
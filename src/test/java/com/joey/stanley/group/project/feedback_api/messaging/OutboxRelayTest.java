@@ -0,0 +1,153 @@
+package com.joey.stanley.group.project.feedback_api.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.entity.OutboxEvent;
+import com.joey.stanley.group.project.feedback_api.repository.OutboxEventRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private FeedbackEventPublisher feedbackEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, feedbackEventPublisher, objectMapper,
+                                transactionManager, 10, 3, 1000, 30000, 1000, 60000);
+    }
+
+    private OutboxEvent createOutboxEvent() throws Exception {
+        Feedback feedback = new Feedback();
+        feedback.setId(UUID.randomUUID());
+        feedback.setMemberId("m-6553");
+        feedback.setProviderName("Definitely Real Doctor");
+        feedback.setRating(5);
+        feedback.setComment("Wow! A real doctor this time!");
+        feedback.setSubmittedAt(Instant.now());
+        FeedbackSubmittedEvent event = FeedbackSubmittedEvent.fromEntityToEvent(feedback);
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setId(UUID.randomUUID());
+        outboxEvent.setAggregateId(event.getId());
+        outboxEvent.setMemberId(event.getMemberId());
+        outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        outboxEvent.setNextAttemptAt(Instant.now());
+        return outboxEvent;
+    }
+
+    @Test
+    void relayBatch_deletesSentEventsAndReschedulesFailedOnes() throws Exception {
+        OutboxEvent delivered = createOutboxEvent();
+        OutboxEvent undelivered = createOutboxEvent();
+
+        when(outboxEventRepository.lockNextBatch(any(Instant.class), anyInt()))
+            .thenReturn(List.of(delivered, undelivered));
+        when(feedbackEventPublisher.publishFeedbackEvents(anyList()))
+            .thenReturn(List.of(
+                    CompletableFuture.completedFuture((SendResult<String, FeedbackSubmittedEvent>) null),
+                    CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable"))));
+
+        Instant before = Instant.now();
+        int relayed = relay.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxEventRepository).deleteAllInBatch(List.of(delivered));
+        verify(outboxEventRepository).reschedule(eq(undelivered.getId()), any(Instant.class), eq(1),
+                eq(undelivered.getNextAttemptAt()), eq(undelivered.getLastError()));
+        verify(outboxEventRepository, never()).reschedule(eq(delivered.getId()), any(), anyInt(), any(), any());
+        verify(outboxEventRepository, never()).saveAll(anyList());
+        assertEquals(0, delivered.getAttempts());
+        assertEquals(1, undelivered.getAttempts());
+        assertTrue(undelivered.getNextAttemptAt().isAfter(before), "Failed event was not pushed back");
+        assertTrue(undelivered.getNextAttemptAt().isBefore(before.plusSeconds(30)), "Failed event kept its lease");
+        assertNotNull(undelivered.getLastError());
+    }
+
+    @Test
+    void relayBatch_leasesClaimedRowsBeforeSending_outsideTheClaimTransaction() throws Exception {
+        OutboxEvent outboxEvent = createOutboxEvent();
+        Instant before = Instant.now();
+
+        when(outboxEventRepository.lockNextBatch(any(Instant.class), anyInt()))
+            .thenReturn(List.of(outboxEvent));
+        when(feedbackEventPublisher.publishFeedbackEvents(anyList())).thenAnswer(invocation -> {
+            // Claimed and committed before the producer is involved: only the claim transaction has run so far
+            verify(transactionManager, times(1)).commit(any());
+            assertFalse(outboxEvent.getNextAttemptAt().isBefore(before.plusSeconds(30)), "Row was not leased");
+            return List.of(CompletableFuture.completedFuture((SendResult<String, FeedbackSubmittedEvent>) null));
+        });
+
+        assertEquals(1, relay.relayBatch());
+        verify(transactionManager, times(2)).commit(any());
+        verify(outboxEventRepository).deleteAllInBatch(List.of(outboxEvent));
+    }
+
+    @Test
+    void relay_stopsAfterMaxBatchesPerRun_whileEventsKeepComing() throws Exception {
+        when(outboxEventRepository.lockNextBatch(any(Instant.class), anyInt()))
+            .thenAnswer(invocation -> List.of(createOutboxEvent()));
+        when(feedbackEventPublisher.publishFeedbackEvents(anyList()))
+            .thenAnswer(invocation -> List.of(CompletableFuture.completedFuture((SendResult<String, FeedbackSubmittedEvent>) null)));
+
+        relay.relay();
+
+        verify(outboxEventRepository, times(3)).lockNextBatch(any(Instant.class), anyInt());
+    }
+
+    @Test
+    void relayBatch_doesNothing_whenOutboxIsEmpty() throws Exception {
+        when(outboxEventRepository.lockNextBatch(any(Instant.class), anyInt()))
+            .thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+        verify(feedbackEventPublisher, never()).publishFeedbackEvents(anyList());
+    }
+
+    @Test
+    void backoff_doublesEachAttemptUpToTheCap() {
+        assertEquals(Duration.ofMillis(1000), relay.backoff(1));
+        assertEquals(Duration.ofMillis(2000), relay.backoff(2));
+        assertEquals(Duration.ofMillis(4000), relay.backoff(3));
+        assertEquals(Duration.ofMillis(60000), relay.backoff(40));
+    }
+}
@@ -0,0 +1,104 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// EXPLAINs the SQL Hibernate generates for the filtered query and checks that Postgres answers it with an index
+// range scan in index order (no Sort node). Sequential scans are switched off because the test table is tiny, so
+// the planner would otherwise read it whole; what's checked is that a usable index plan exists for every shape.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.joey.stanley.group.project.feedback_api.repository.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class FeedbackQueryPlanTest {
+
+    private static final String PROVIDER = "Dr. Query Plan";
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    // Runs the query, then EXPLAINs the captured SQL with the same values bound in the same order
+    private String plan(Specification<Feedback> spec, Object... params) {
+        feedbackRepository.findResponses(spec, FeedbackSpecifications.NEWEST_FIRST, 51);
+        String sql = RecordingStatementInspector.lastSelect();
+        List<Object> args = new ArrayList<>(List.of(params));
+        args.add(51);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args.toArray()));
+        assertFalse(plan.contains("Seq Scan"), "Expected an index scan:\n" + plan);
+        assertFalse(plan.contains("Sort"), "Expected rows in index order, without a sort step:\n" + plan);
+        return plan;
+    }
+
+    private static Object timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    @Test
+    void lowRatingsForProviderInWindow_usePartialIndex() {
+        Instant to = Instant.now();
+        Instant from = to.minus(1, ChronoUnit.DAYS);
+
+        String plan = plan(Specification.allOf(
+                        FeedbackSpecifications.providerNameIs(PROVIDER),
+                        FeedbackSpecifications.ratingAtMost(2),
+                        FeedbackSpecifications.submittedAtOrAfter(from),
+                        FeedbackSpecifications.submittedBefore(to)),
+                PROVIDER, timestamp(from), timestamp(to));
+
+        assertTrue(plan.contains("idx_feedback_provider_low_rating"), plan);
+    }
+
+    @Test
+    void providerPageAfterCursor_usesProviderIndexRange() {
+        Instant submittedAt = Instant.now();
+        UUID id = UUID.randomUUID();
+
+        String plan = plan(Specification.allOf(
+                        FeedbackSpecifications.providerNameIs(PROVIDER),
+                        FeedbackSpecifications.ratingAtLeast(4),
+                        FeedbackSpecifications.after(submittedAt, id)),
+                PROVIDER, timestamp(submittedAt), timestamp(submittedAt), id);
+
+        assertTrue(plan.contains("idx_feedback_provider_submitted_id"), plan);
+        assertTrue(plan.contains("Index Cond: (((provider_name)::text = "), plan);
+        assertTrue(plan.contains("submitted_at <="), "Cursor should bound the index range:\n" + plan);
+    }
+
+    @Test
+    void windowAcrossProviders_usesSubmittedAtIndexRange() {
+        Instant to = Instant.now();
+        Instant from = to.minus(1, ChronoUnit.DAYS);
+
+        String plan = plan(Specification.allOf(
+                        FeedbackSpecifications.submittedAtOrAfter(from),
+                        FeedbackSpecifications.submittedBefore(to)),
+                timestamp(from), timestamp(to));
+
+        assertTrue(plan.contains("idx_feedback_submitted_id"), plan);
+        assertTrue(plan.contains("Index Cond: ((submitted_at >= "), plan);
+    }
+}
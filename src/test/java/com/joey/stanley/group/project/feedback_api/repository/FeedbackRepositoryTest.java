@@ -6,13 +6,18 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
 import com.joey.stanley.group.project.feedback_api.entity.Feedback;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
@@ -126,4 +131,114 @@ public class FeedbackRepositoryTest {
 
         assertEquals(0, recalls.size());
     }
+
+    @Test
+    void repository_projectsResponseById_withinSubmittedAtWindow() throws Exception {
+        Feedback rawFeedback = createRawFeedback();
+        Feedback cookedFeedback = feedbackRepository.saveAndFlush(rawFeedback);
+        Instant submittedAt = cookedFeedback.getSubmittedAt();
+
+        Optional<FeedbackResponse> byId = feedbackRepository.findResponseById(cookedFeedback.getId());
+        assertTrue(byId.isPresent());
+        assertEquals(cookedFeedback.getId(), byId.get().getId());
+        assertEquals(rawFeedback.getMemberId(), byId.get().getMemberId());
+        assertEquals(rawFeedback.getProviderName(), byId.get().getProviderName());
+        assertEquals(rawFeedback.getRating(), byId.get().getRating());
+        assertEquals(rawFeedback.getComment(), byId.get().getComment());
+        assertNotNull(byId.get().getSubmittedAt());
+
+        assertTrue(feedbackRepository.findResponseByIdAndSubmittedAtBetween(cookedFeedback.getId(),
+                submittedAt.minusSeconds(60), submittedAt.plusSeconds(60)).isPresent());
+        assertTrue(feedbackRepository.findResponseByIdAndSubmittedAtBetween(cookedFeedback.getId(),
+                submittedAt.plusSeconds(60), submittedAt.plusSeconds(120)).isEmpty());
+    }
+
+    @Test
+    void repository_walksMemberFeedbackNewestFirst_usingKeysetPages() throws Exception {
+        Feedback[] testSet = createRawFeedbackSet();
+        Feedback rawFeedbackC = createRawFeedback();
+        feedbackRepository.saveAndFlush(testSet[0]);
+        feedbackRepository.saveAndFlush(testSet[1]);
+        feedbackRepository.saveAndFlush(rawFeedbackC);
+
+        List<FeedbackResponse> firstPage = feedbackRepository.findResponsesByMemberId(MOCK_MEMBER_ID, Limit.of(2));
+        assertEquals(2, firstPage.size());
+
+        FeedbackResponse last = firstPage.get(1);
+        List<FeedbackResponse> secondPage = feedbackRepository.findResponsesByMemberIdAfter(MOCK_MEMBER_ID, last.getSubmittedAt(), last.getId(), Limit.of(2));
+        assertEquals(1, secondPage.size());
+
+        // Every row shows up exactly once, newest first
+        List<FeedbackResponse> walked = List.of(firstPage.get(0), firstPage.get(1), secondPage.get(0));
+        for (int i = 1; i < walked.size(); i++) {
+            Instant previous = walked.get(i - 1).getSubmittedAt();
+            assertTrue(!walked.get(i).getSubmittedAt().isAfter(previous), "Pages are not in newest-first order");
+            assertNotEquals(walked.get(i - 1).getId(), walked.get(i).getId());
+        }
+        assertNotEquals(walked.get(0).getId(), walked.get(2).getId());
+    }
+
+    @Test
+    void repository_ranksProviderMatchesAboveCommentMatches_whenSearching() throws Exception {
+        // A made-up word keeps rows left behind by other tests out of the results
+        String term = "zorbulent";
+
+        Feedback commentMatch = createRawFeedback();
+        commentMatch.setComment("The waiting room was " + term + " and loud");
+        Feedback providerMatch = createRawFeedback();
+        providerMatch.setProviderName("Dr. " + term);
+        providerMatch.setComment("Fine visit");
+        Feedback noMatch = createRawFeedback();
+        feedbackRepository.saveAndFlush(commentMatch);
+        feedbackRepository.saveAndFlush(providerMatch);
+        feedbackRepository.saveAndFlush(noMatch);
+
+        List<FeedbackResponse> results = feedbackRepository.search(term, 10, 0);
+
+        assertEquals(2, results.size());
+        assertEquals(providerMatch.getId(), results.get(0).getId());
+        assertEquals(commentMatch.getId(), results.get(1).getId());
+
+        // Websearch syntax: excluding a word from the first comment leaves only the provider match
+        List<FeedbackResponse> excluded = feedbackRepository.search(term + " -waiting", 10, 0);
+        assertEquals(1, excluded.size());
+        assertEquals(providerMatch.getId(), excluded.get(0).getId());
+
+        assertEquals(1, feedbackRepository.search(term, 10, 1).size());
+    }
+
+    @Test
+    void repository_filtersByProviderAndRating_usingKeysetPages() throws Exception {
+        // A provider name no other test uses keeps leftover rows out of the results
+        String provider = "Dr. Filter " + UUID.randomUUID().toString().substring(0, 8);
+        for (int rating : new int[] { 1, 2, 5, 1 }) {
+            Feedback feedback = createRawFeedback();
+            feedback.setProviderName(provider);
+            feedback.setRating(rating);
+            feedbackRepository.saveAndFlush(feedback);
+        }
+
+        Specification<Feedback> lowRatings = Specification.allOf(
+                FeedbackSpecifications.providerNameIs(provider),
+                FeedbackSpecifications.ratingAtMost(2));
+        List<FeedbackResponse> firstPage = feedbackRepository.findResponses(lowRatings,
+                FeedbackSpecifications.NEWEST_FIRST, 2);
+        assertEquals(2, firstPage.size());
+
+        FeedbackResponse last = firstPage.get(1);
+        List<FeedbackResponse> secondPage = feedbackRepository.findResponses(
+                lowRatings.and(FeedbackSpecifications.after(last.getSubmittedAt(), last.getId())),
+                FeedbackSpecifications.NEWEST_FIRST, 2);
+        assertEquals(1, secondPage.size());
+
+        List<FeedbackResponse> walked = List.of(firstPage.get(0), firstPage.get(1), secondPage.get(0));
+        for (int i = 0; i < walked.size(); i++) {
+            assertTrue(walked.get(i).getRating() <= 2);
+            if (i > 0) {
+                assertTrue(!walked.get(i).getSubmittedAt().isAfter(walked.get(i - 1).getSubmittedAt()),
+                        "Pages are not in newest-first order");
+                assertNotEquals(walked.get(i - 1).getId(), walked.get(i).getId());
+            }
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.joey.stanley.group.project.feedback_api.entity.IdempotencyRecord;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class IdempotencyRecordRepositoryTest {
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void insertIfAbsent_keepsFirstFeedbackId_whenKeyIsReused() throws Exception {
+        String key = UUID.randomUUID().toString();
+        UUID firstFeedbackId = UUID.randomUUID();
+
+        int first = idempotencyRecordRepository.insertIfAbsent(key, firstFeedbackId, Instant.now(), "first-hash");
+        int second = idempotencyRecordRepository.insertIfAbsent(key, UUID.randomUUID(), Instant.now(), "second-hash");
+        entityManager.clear();
+
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key);
+
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertTrue(record.isPresent());
+        assertEquals(firstFeedbackId, record.get().getFeedbackId());
+        assertEquals("first-hash", record.get().getRequestHash());
+    }
+
+    @Test
+    void deleteCreatedBefore_removesOnlyExpiredKeys() throws Exception {
+        String expiredKey = UUID.randomUUID().toString();
+        String freshKey = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        idempotencyRecordRepository.insertIfAbsent(expiredKey, UUID.randomUUID(), now.minus(Duration.ofDays(2)), null);
+        idempotencyRecordRepository.insertIfAbsent(freshKey, UUID.randomUUID(), now, null);
+
+        idempotencyRecordRepository.deleteCreatedBefore(now.minus(Duration.ofDays(1)));
+        entityManager.clear();
+
+        assertFalse(idempotencyRecordRepository.findById(expiredKey).isPresent());
+        assertTrue(idempotencyRecordRepository.findById(freshKey).isPresent());
+    }
+}
@@ -0,0 +1,89 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import com.joey.stanley.group.project.feedback_api.entity.OutboxEvent;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private OutboxEvent save(String memberId, Instant nextAttemptAt) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(UUID.randomUUID().toString());
+        outboxEvent.setMemberId(memberId);
+        outboxEvent.setPayload("{}");
+        outboxEvent.setNextAttemptAt(nextAttemptAt);
+        return outboxEventRepository.saveAndFlush(outboxEvent);
+    }
+
+    // The outbox is shared with other tests, so only look at this test's members
+    private List<UUID> lockedFor(String memberId, Instant now) {
+        return outboxEventRepository.lockNextBatch(now, Integer.MAX_VALUE).stream()
+                .filter(outboxEvent -> outboxEvent.getMemberId().equals(memberId))
+                .map(OutboxEvent::getId)
+                .toList();
+    }
+
+    @Test
+    void lockNextBatch_handsOutOnlyEachMembersOldestEvent() throws Exception {
+        String memberId = "m-" + UUID.randomUUID().toString().substring(0, 8);
+        Instant now = Instant.now();
+        OutboxEvent first = save(memberId, now.minusSeconds(1));
+        save(memberId, now.minusSeconds(1));
+
+        assertEquals(List.of(first.getId()), lockedFor(memberId, now));
+    }
+
+    @Test
+    void reschedule_updatesRow_onlyWhileItStillHoldsTheLease() throws Exception {
+        Instant leaseExpiry = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        Instant retryAt = Instant.now().plusSeconds(5).truncatedTo(ChronoUnit.MICROS);
+        OutboxEvent leased = save("m-" + UUID.randomUUID().toString().substring(0, 8), leaseExpiry);
+
+        assertEquals(1, outboxEventRepository.reschedule(leased.getId(), leaseExpiry, 1, retryAt, "broker down"));
+        // Claimed again by another relay since: its lease no longer matches
+        assertEquals(0, outboxEventRepository.reschedule(leased.getId(), leaseExpiry, 2, retryAt, "broker down"));
+    }
+
+    @Test
+    void reschedule_doesNotBringBackARowDeletedMeanwhile() throws Exception {
+        Instant leaseExpiry = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        OutboxEvent leased = save("m-" + UUID.randomUUID().toString().substring(0, 8), leaseExpiry);
+        // Another relay re-claimed the row after the lease ran out, sent it and deleted it
+        outboxEventRepository.deleteAllInBatch(List.of(leased));
+
+        assertEquals(0, outboxEventRepository.reschedule(leased.getId(), leaseExpiry, 1, Instant.now(), "broker down"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM feedback_outbox WHERE id = ?", Integer.class, leased.getId()));
+    }
+
+    @Test
+    void lockNextBatch_holdsBackLaterEvents_whileOlderOneWaitsForRetry() throws Exception {
+        String memberId = "m-" + UUID.randomUUID().toString().substring(0, 8);
+        String otherMemberId = "m-" + UUID.randomUUID().toString().substring(0, 8);
+        Instant now = Instant.now();
+        save(memberId, now.plusSeconds(60));
+        save(memberId, now.minusSeconds(1));
+        OutboxEvent other = save(otherMemberId, now.minusSeconds(1));
+
+        assertEquals(List.of(), lockedFor(memberId, now));
+        assertEquals(List.of(other.getId()), lockedFor(otherMemberId, now));
+    }
+}
@@ -0,0 +1,57 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.joey.stanley.group.project.feedback_api.entity.ProviderRatingStats;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ProviderRatingStatsRepositoryTest {
+
+    @Autowired
+    private ProviderRatingStatsRepository providerRatingStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private static String MOCK_PROVIDER_NAME = "Dr. Statistically Significant";
+
+    @Test
+    void increment_createsRowThenAccumulates() throws Exception {
+        providerRatingStatsRepository.increment(MOCK_PROVIDER_NAME, 1, 5, 0, 0, 0, 0, 1);
+        providerRatingStatsRepository.increment(MOCK_PROVIDER_NAME, 2, 3, 1, 1, 0, 0, 0);
+        entityManager.clear();
+
+        Optional<ProviderRatingStats> stats = providerRatingStatsRepository.findById(MOCK_PROVIDER_NAME);
+
+        assertTrue(stats.isPresent());
+        assertEquals(3, stats.get().getFeedbackCount());
+        assertEquals(8, stats.get().getRatingSum());
+        assertEquals(1, stats.get().getOneStarCount());
+        assertEquals(1, stats.get().getTwoStarCount());
+        assertEquals(1, stats.get().getFiveStarCount());
+    }
+
+    @Test
+    void findAllByOrderByFeedbackCountDesc_returnsBusiestProvidersFirst() throws Exception {
+        providerRatingStatsRepository.increment(MOCK_PROVIDER_NAME + " (quiet)", 1, 4, 0, 0, 0, 1, 0);
+        providerRatingStatsRepository.increment(MOCK_PROVIDER_NAME + " (busy)", 1_000_000, 4_000_000, 0, 0, 0, 1_000_000, 0);
+        entityManager.clear();
+
+        List<ProviderRatingStats> top = providerRatingStatsRepository.findAllByOrderByFeedbackCountDesc(Limit.of(1));
+
+        assertEquals(1, top.size());
+        assertEquals(MOCK_PROVIDER_NAME + " (busy)", top.get(0).getProviderName());
+    }
+}
@@ -0,0 +1,21 @@
+package com.joey.stanley.group.project.feedback_api.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Remembers the last SELECT Hibernate sent, so tests can EXPLAIN exactly what the application runs
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static volatile String lastSelect;
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            lastSelect = sql;
+        }
+        return sql;
+    }
+
+    public static String lastSelect() {
+        return lastSelect;
+    }
+}
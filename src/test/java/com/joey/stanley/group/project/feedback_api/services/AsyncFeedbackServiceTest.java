@@ -0,0 +1,190 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncFeedbackServiceTest {
+
+    @Mock
+    private FeedbackService feedbackService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private ThreadPoolTaskExecutor executor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AsyncFeedbackService asyncFeedbackService;
+
+    @BeforeEach
+    void setUp() {
+        //One worker and no queue, so a single in-flight create saturates it
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+        asyncFeedbackService = new AsyncFeedbackService(feedbackService, executor, Optional.empty(), idempotencyService, meterRegistry, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private static FeedbackRequest createValidFeedbackRequest() {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId("m-1337");
+        request.setProviderName("Dr. Eventually");
+        request.setRating(4);
+        request.setComment("Worth the wait");
+        return request;
+    }
+
+    private static FeedbackResponse createValidResponse(FeedbackRequest request) {
+        Feedback feedback = request.toEntity();
+        feedback.setId(UUID.randomUUID());
+        feedback.setSubmittedAt(Instant.now());
+        return FeedbackResponse.from(feedback);
+    }
+
+    @Test
+    void createFeedback_completesOnWorkerThread() throws Exception {
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse created = createValidResponse(request);
+        String[] threadName = new String[1];
+        when(feedbackService.createFeedback(request)).thenAnswer(invocation -> {
+            threadName[0] = Thread.currentThread().getName();
+            return created;
+        });
+
+        FeedbackResponse response = asyncFeedbackService.createFeedback(request).get(5, TimeUnit.SECONDS);
+
+        assertEquals(created.getId(), response.getId());
+        assertEquals(executor.getThreadNamePrefix() + "1", threadName[0]);
+    }
+
+    @Test
+    void createFeedback_throwsValidationExceptionWithoutSubmitting_whenRequestIsInvalid() throws Exception {
+        FeedbackRequest request = createValidFeedbackRequest();
+        request.setRating(0);
+        doThrow(new ValidationException(new FeedbackRequestValidator().validate(request))).when(feedbackService).validate(request);
+
+        assertThrows(ValidationException.class, () -> asyncFeedbackService.createFeedback(request));
+        verify(feedbackService, never()).createFeedback(any(FeedbackRequest.class));
+    }
+
+    @Test
+    void createFeedback_throwsServiceBusyException_whenExecutorIsSaturated() throws Exception {
+        FeedbackRequest request = createValidFeedbackRequest();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(feedbackService.createFeedback(request)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return createValidResponse(request);
+        });
+
+        CompletableFuture<FeedbackResponse> inFlight = asyncFeedbackService.createFeedback(request);
+        started.await(5, TimeUnit.SECONDS);
+
+        ServiceBusyException ex = assertThrows(ServiceBusyException.class,
+                () -> asyncFeedbackService.createFeedback(request));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("feedback.async.rejected").counter().count());
+
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void createFeedback_goesThroughGroupCommitWriter_whenEnabled() throws Exception {
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse created = createValidResponse(request);
+        GroupCommitFeedbackWriter writer = mock(GroupCommitFeedbackWriter.class);
+        when(writer.submit(request, null)).thenReturn(CompletableFuture.completedFuture(created));
+        AsyncFeedbackService groupCommitted = new AsyncFeedbackService(feedbackService, executor, Optional.of(writer), idempotencyService,
+                meterRegistry, Duration.ofSeconds(2));
+
+        assertEquals(created.getId(), groupCommitted.createFeedback(request).get(5, TimeUnit.SECONDS).getId());
+        verify(feedbackService, never()).createFeedback(any(FeedbackRequest.class));
+    }
+
+    @Test
+    void createFeedbackWithKey_replaysOriginalWithoutSubmitting() throws Exception {
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse original = createValidResponse(request);
+        IdempotencyClaim claim = new IdempotencyClaim("retry-key", IdempotencyService.requestHash(request));
+        when(idempotencyService.findReplay(claim)).thenReturn(Optional.of(new IdempotentFeedback(original, true)));
+
+        IdempotentFeedback result = asyncFeedbackService.createFeedback(request, "retry-key").get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.replayed());
+        assertEquals(original.getId(), result.feedback().getId());
+        verify(feedbackService, never()).createFeedback(any(FeedbackRequest.class), anyString(), anyString());
+    }
+
+    @Test
+    void createFeedbackWithKey_claimsKeyInTheCreate_andRecordsIt() throws Exception {
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse created = createValidResponse(request);
+        IdempotencyClaim claim = new IdempotencyClaim("fresh-key", IdempotencyService.requestHash(request));
+        when(idempotencyService.findReplay(claim)).thenReturn(Optional.empty());
+        when(feedbackService.createFeedback(request, "fresh-key", claim.requestHash())).thenReturn(created);
+        when(idempotencyService.recordCreated(claim, created)).thenReturn(new IdempotentFeedback(created, false));
+
+        IdempotentFeedback result = asyncFeedbackService.createFeedback(request, "fresh-key").get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.replayed());
+        assertEquals(created.getId(), result.feedback().getId());
+    }
+
+    @Test
+    void createFeedbackWithKey_replaysWinner_whenConcurrentRequestClaimsKeyFirst() throws Exception {
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse winner = createValidResponse(request);
+        IdempotencyClaim claim = new IdempotencyClaim("raced-key", IdempotencyService.requestHash(request));
+        DuplicateIdempotencyKeyException duplicate = new DuplicateIdempotencyKeyException("raced-key");
+        when(idempotencyService.findReplay(claim)).thenReturn(Optional.empty());
+        when(feedbackService.createFeedback(request, "raced-key", claim.requestHash())).thenThrow(duplicate);
+        when(idempotencyService.replayDuplicate(claim, duplicate)).thenReturn(new IdempotentFeedback(winner, true));
+
+        IdempotentFeedback result = asyncFeedbackService.createFeedback(request, "raced-key").get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.replayed());
+        assertEquals(winner.getId(), result.feedback().getId());
+    }
+}
@@ -0,0 +1,94 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FeedbackCacheTest {
+
+    private AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private FeedbackCache feedbackCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        feedbackCache = new FeedbackCache(meterRegistry, 100, Duration.ofMinutes(10), Duration.ofSeconds(5), nanos::get);
+    }
+
+    private static FeedbackResponse createResponse() {
+        FeedbackResponse response = new FeedbackResponse();
+        response.setId(UUID.randomUUID());
+        response.setMemberId("m-1337");
+        response.setProviderName("Totally Real Doctor");
+        response.setRating(3);
+        response.setComment("Cached, apparently");
+        response.setSubmittedAt(Instant.now());
+        return response;
+    }
+
+    @Test
+    void get_loadsOnceThenServesFromMemory() {
+        FeedbackResponse response = createResponse();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Optional<FeedbackResponse> cached = feedbackCache.get(response.getId(), id -> {
+                loads.incrementAndGet();
+                return Optional.of(response);
+            });
+            assertTrue(cached.isPresent());
+        }
+
+        assertEquals(1, loads.get(), "Loader should only run on the first miss");
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void get_forgetsUnknownIdsAfterNegativeTtl() {
+        UUID unknownId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        feedbackCache.get(unknownId, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        feedbackCache.get(unknownId, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertEquals(1, loads.get(), "Miss should be remembered within the negative TTL");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        feedbackCache.get(unknownId, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertEquals(2, loads.get(), "Miss should be reloaded once the negative TTL has passed");
+    }
+
+    @Test
+    void onFeedbackCreated_populatesCacheSoFirstReadIsAHit() {
+        FeedbackResponse response = createResponse();
+
+        feedbackCache.onFeedbackCreated(new FeedbackCreatedEvent(response));
+
+        Optional<FeedbackResponse> cached = feedbackCache.get(response.getId(), id -> Optional.empty());
+        assertTrue(cached.isPresent(), "Newly created feedback was not cached");
+        assertEquals(response.getId(), cached.get().getId());
+    }
+}
@@ -0,0 +1,122 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.repository.FeedbackRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = {"feedback.export.fetch-size=2", "feedback.export.max-concurrent=1"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(FeedbackExportService.class)
+public class FeedbackExportServiceTest {
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private FeedbackExportService feedbackExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final String MEMBER_ID = "m-export";
+
+    private Feedback save(String providerName, String comment, Instant submittedAt) {
+        Feedback feedback = new Feedback();
+        feedback.setMemberId(MEMBER_ID);
+        feedback.setProviderName(providerName);
+        feedback.setRating(4);
+        feedback.setComment(comment);
+        Feedback saved = feedbackRepository.saveAndFlush(feedback);
+        //@CreationTimestamp fills submittedAt on insert; move it so the order is known
+        saved.setSubmittedAt(submittedAt);
+        return feedbackRepository.saveAndFlush(saved);
+    }
+
+    private String export(FeedbackExportService.Format format, Instant from) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        feedbackExportService.export(MEMBER_ID, null, from, null, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void export_writesCsvOldestFirst_withQuotedFields() throws Exception {
+        Instant start = Instant.parse("2025-03-01T00:00:00Z");
+        Feedback second = save("Dr. Comma, MD", "Said \"come back\"", start.plusSeconds(60));
+        Feedback first = save("Dr. Plain", "Fine", start);
+        Feedback third = save("Dr. Plain", "Two\nlines", start.plusSeconds(120));
+
+        String csv = export(FeedbackExportService.Format.CSV, null);
+
+        assertEquals("id,memberId,providerName,rating,comment,submittedAt\n"
+                + first.getId() + ",m-export,Dr. Plain,4,Fine,2025-03-01T00:00:00Z\n"
+                + second.getId() + ",m-export,\"Dr. Comma, MD\",4,\"Said \"\"come back\"\"\",2025-03-01T00:01:00Z\n"
+                + third.getId() + ",m-export,Dr. Plain,4,\"Two\nlines\",2025-03-01T00:02:00Z\n", csv);
+    }
+
+    @Test
+    void export_writesOneJsonObjectPerLine_withinTimeWindow() throws Exception {
+        Instant start = Instant.parse("2025-03-01T00:00:00Z");
+        save("Dr. Plain", "Too early", start);
+        Feedback kept = save("Dr. Plain", "Kept", start.plusSeconds(60));
+        save("Dr. Plain", "Also kept", start.plusSeconds(120));
+
+        List<String> lines = export(FeedbackExportService.Format.NDJSON, start.plusSeconds(60)).lines().toList();
+
+        assertEquals(2, lines.size());
+        assertEquals(kept.getId().toString(), objectMapper.readTree(lines.get(0)).get("id").asText());
+        assertEquals("Also kept", objectMapper.readTree(lines.get(1)).get("comment").asText());
+    }
+
+    @Test
+    void writeCsvField_prefixesCellsThatWouldRunAsFormulas() throws Exception {
+        StringWriter writer = new StringWriter();
+        FeedbackExportService.writeCsvField(writer, "=HYPERLINK(\"http://x\")");
+        writer.write('|');
+        FeedbackExportService.writeCsvField(writer, "@SUM(A1)");
+        writer.write('|');
+        FeedbackExportService.writeCsvField(writer, "-1+1");
+        writer.write('|');
+        FeedbackExportService.writeCsvField(writer, "Fine - really");
+
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"|'@SUM(A1)|'-1+1|Fine - really", writer.toString());
+    }
+
+    @Test
+    void reserve_turnsAwayExportsBeyondMaxConcurrent() throws Exception {
+        FeedbackExportService.Slot slot = feedbackExportService.reserve();
+        ServiceBusyException ex = assertThrows(ServiceBusyException.class, () -> feedbackExportService.reserve());
+        assertEquals(Duration.ofSeconds(30), ex.getRetryAfter());
+
+        //Closing twice gives back one slot, not two
+        slot.close();
+        slot.close();
+        FeedbackExportService.Slot next = feedbackExportService.reserve();
+        assertThrows(ServiceBusyException.class, () -> feedbackExportService.reserve());
+        next.close();
+    }
+
+    @Test
+    void validate_requiresMemberOrProvider() {
+        assertThrows(ValidationException.class, () -> FeedbackExportService.validate(null, null, null, null));
+        assertThrows(ValidationException.class, () -> FeedbackExportService.format("xml"));
+    }
+}
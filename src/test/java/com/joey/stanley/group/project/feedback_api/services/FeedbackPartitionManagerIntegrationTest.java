@@ -0,0 +1,159 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Runs against its own, freshly created database, so converting and dropping partitions never touches test_database.
+// Retention retires the partition covering today, so it goes last.
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(properties = {
+        "feedback.outbox.relay.enabled=false",
+        "feedback.partitioning.enabled=true"
+})
+public class FeedbackPartitionManagerIntegrationTest {
+
+    private static final String DATABASE = "test_database_partitioned";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @DynamicPropertySource
+    static void partitionedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:postgresql://db:5432/test_database", "postgres", "password");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + DATABASE);
+        }
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://db:5432/" + DATABASE);
+    }
+
+    @Autowired
+    private FeedbackPartitionManager partitionManager;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static String partitionFor(YearMonth month) {
+        return "feedback_p" + SUFFIX.format(month);
+    }
+
+    private static Instant middleOf(YearMonth month) {
+        return month.atDay(15).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private List<String> partitionNames() {
+        return partitionManager.partitions().stream().map(partition -> partition.name()).toList();
+    }
+
+    private void insertAt(Instant submittedAt) {
+        jdbcTemplate.update("INSERT INTO feedback (id, member_id, provider_name, rating, comment, submitted_at) VALUES (?, 'm-1', 'Dr. Who', 4, 'fine', ?)",
+                UUID.randomUUID(), Timestamp.from(submittedAt));
+    }
+
+    private int rowsIn(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    @Order(1)
+    void convertsTable_premakesPartitions_andPrunesTimeBoundedQueries() throws Exception {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        // Idempotent: the scheduled run after startup has usually converted already
+        partitionManager.maintain();
+        partitionManager.maintain();
+
+        assertTrue(partitionManager.isPartitioned());
+        assertEquals(List.of(FeedbackPartitionManager.LEGACY_PARTITION, partitionFor(current.plusMonths(1)),
+                partitionFor(current.plusMonths(2)), partitionFor(current.plusMonths(3))), partitionNames());
+        // The concurrently built index became the legacy partition's primary key, and the bound check is gone again
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'p' "
+                + "AND conname = 'feedback_legacy_pkey'", Integer.class, FeedbackPartitionManager.LEGACY_PARTITION));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_constraint WHERE conname = 'feedback_legacy_bound'", Integer.class));
+
+        // Writes through the app still work, and a v7 id finds its row again
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId("m-1");
+        request.setProviderName("Dr. Who");
+        request.setRating(5);
+        request.setComment("great");
+        FeedbackResponse created = feedbackService.createFeedback(request);
+        assertEquals("great", feedbackService.findFeedbackById(created.getId()).orElseThrow().getComment());
+
+        insertAt(middleOf(current.plusMonths(2)));
+        assertEquals(1, rowsIn(partitionFor(current.plusMonths(2))));
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM feedback WHERE submitted_at >= ? AND submitted_at < ?", String.class,
+                Timestamp.from(middleOf(current.plusMonths(2))), Timestamp.from(middleOf(current.plusMonths(2)).plusSeconds(3600))));
+        assertTrue(plan.contains(partitionFor(current.plusMonths(2))), plan);
+        assertFalse(plan.contains(FeedbackPartitionManager.LEGACY_PARTITION), plan);
+        assertFalse(plan.contains(partitionFor(current.plusMonths(1))), plan);
+    }
+
+    @Test
+    @Order(2)
+    void retention_detachesOrDropsWholePartitions() {
+        partitionManager.maintain();
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        insertAt(middleOf(current.plusMonths(1)));
+        jdbcTemplate.update("INSERT INTO feedback (id, member_id, provider_name, rating, comment, submitted_at) "
+                + "VALUES (?, 'm-retired', 'Dr. Retired', 2, 'gone soon', ?)", UUID.randomUUID(), Timestamp.from(middleOf(current.plusMonths(1))));
+        jdbcTemplate.update("INSERT INTO provider_rating_stats (provider_name, feedback_count, rating_sum, one_star_count, "
+                + "two_star_count, three_star_count, four_star_count, five_star_count) VALUES ('Dr. Retired', 1, 2, 0, 1, 0, 0, 0)");
+        jdbcTemplate.update("INSERT INTO member_feedback_version (member_id, version) VALUES ('m-retired', 1), ('m-kept', 1)");
+
+        // Four months from now, with one month kept: the legacy partition and the next month's are past the window
+        Clock later = Clock.fixed(middleOf(current.plusMonths(4)), ZoneOffset.UTC);
+        new FeedbackPartitionManager(jdbcTemplate, transactionManager, 1, 2,
+                FeedbackPartitionManager.RetentionAction.DETACH, later).maintain();
+
+        assertEquals(List.of(partitionFor(current.plusMonths(2)), partitionFor(current.plusMonths(3)),
+                partitionFor(current.plusMonths(4)), partitionFor(current.plusMonths(5))), partitionNames());
+        // Detached, not deleted: the rows are still in the standalone table
+        assertEquals(1, rowsIn(partitionFor(current.plusMonths(1))));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM feedback WHERE submitted_at < ?", Integer.class,
+                Timestamp.from(middleOf(current.plusMonths(2)))));
+        // Retired rows leave the provider totals, and only their members' versions move
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM provider_rating_stats WHERE provider_name = 'Dr. Retired'", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT version FROM member_feedback_version WHERE member_id = 'm-retired'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT version FROM member_feedback_version WHERE member_id = 'm-kept'", Integer.class));
+
+        new FeedbackPartitionManager(jdbcTemplate, transactionManager, 1, 1,
+                FeedbackPartitionManager.RetentionAction.DROP, later).maintain();
+        assertEquals(List.of(partitionFor(current.plusMonths(3)), partitionFor(current.plusMonths(4)),
+                partitionFor(current.plusMonths(5))), partitionNames());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_class WHERE relname = ?", Integer.class,
+                partitionFor(current.plusMonths(2))));
+    }
+}
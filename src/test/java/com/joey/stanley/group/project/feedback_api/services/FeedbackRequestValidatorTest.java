@@ -0,0 +1,71 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FieldValidationError;
+
+import org.junit.jupiter.api.Test;
+
+public class FeedbackRequestValidatorTest {
+
+    private final FeedbackRequestValidator validator = new FeedbackRequestValidator();
+
+    private static FeedbackRequest createValidFeedbackRequest() {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId("m-1337");
+        request.setProviderName("Dr. Thorough");
+        request.setRating(4);
+        request.setComment("Checked everything at once");
+        return request;
+    }
+
+    @Test
+    void validate_returnsNoErrors_whenRequestIsValid() {
+        assertTrue(validator.validate(createValidFeedbackRequest()).isEmpty());
+    }
+
+    @Test
+    void validate_requiresComment() {
+        FeedbackRequest request = createValidFeedbackRequest();
+        request.setComment(null);
+
+        List<FieldValidationError> errors = validator.validate(request);
+
+        assertEquals(1, errors.size());
+        assertEquals("comment", errors.get(0).field());
+        assertEquals(FieldValidationError.REQUIRED, errors.get(0).code());
+    }
+
+    @Test
+    void validate_reportsEveryInvalidField_withCodes() {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setProviderName("x".repeat(81));
+        request.setRating(6);
+        request.setComment("x".repeat(201));
+
+        List<FieldValidationError> errors = validator.validate(request);
+
+        assertEquals(List.of("memberId", "providerName", "rating", "comment"),
+                errors.stream().map(FieldValidationError::field).toList());
+        assertEquals(List.of(FieldValidationError.REQUIRED, FieldValidationError.TOO_LONG,
+                        FieldValidationError.OUT_OF_RANGE, FieldValidationError.TOO_LONG),
+                errors.stream().map(FieldValidationError::code).toList());
+    }
+
+    @Test
+    void validationException_carriesAllMessages_withoutStackTrace() {
+        FeedbackRequest request = createValidFeedbackRequest();
+        request.setMemberId(null);
+        request.setRating(0);
+
+        ValidationException ex = new ValidationException(validator.validate(request));
+
+        assertEquals("Field 'memberId' is required; Field 'rating' must be an integer between 1 and 5", ex.getMessage());
+        assertEquals("memberId", ex.getErrors().get(0).field());
+        assertEquals(0, ex.getStackTrace().length);
+    }
+}
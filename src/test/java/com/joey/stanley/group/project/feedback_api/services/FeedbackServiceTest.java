@@ -2,26 +2,44 @@ package com.joey.stanley.group.project.feedback_api.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.joey.stanley.group.project.feedback_api.dtos.BatchFeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.dtos.BatchFeedbackResult;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackCursor;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackFilter;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackPage;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
 import com.joey.stanley.group.project.feedback_api.dtos.FeedbackSubmittedEvent;
 import com.joey.stanley.group.project.feedback_api.entity.Feedback;
-import com.joey.stanley.group.project.feedback_api.messaging.FeedbackEventPublisher;
+import com.joey.stanley.group.project.feedback_api.messaging.FeedbackOutbox;
 import com.joey.stanley.group.project.feedback_api.repository.FeedbackRepository;
+import com.joey.stanley.group.project.feedback_api.repository.IdempotencyRecordRepository;
+import com.joey.stanley.group.project.feedback_api.repository.MemberFeedbackVersionRepository;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -33,11 +51,23 @@ public class FeedbackServiceTest {
     private FeedbackRepository feedbackRepository;
 
     @MockitoBean
-    private FeedbackEventPublisher feedbackEventPublisher;
+    private FeedbackOutbox feedbackOutbox;
+
+    @MockitoBean
+    private ProviderStatsService providerStatsService;
+
+    @MockitoBean
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @MockitoBean
+    private MemberFeedbackVersionRepository memberFeedbackVersionRepository;
 
     @Autowired
     private FeedbackService feedbackService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static String MOCK_MEMBER_ID = "m-1337";
     private static String MOCK_PROVIDER_NAME = "Totally Real Doctor";
     private static int MOCK_RATING = 3;
@@ -68,7 +98,9 @@ public class FeedbackServiceTest {
 
         //Verify in logs that these methods were actually called
         verify(feedbackRepository).saveAndFlush(any(Feedback.class));
-        verify(feedbackEventPublisher).publishFeedbackEvent(any(FeedbackSubmittedEvent.class));
+        verify(feedbackOutbox).enqueue(any(FeedbackSubmittedEvent.class));
+        verify(providerStatsService).recordFeedback(anyList());
+        verify(memberFeedbackVersionRepository).bump(MOCK_MEMBER_ID);
 
         //Confirming feedback object matches what we expect
         assertNotNull(feedbackResponse, "Feedback after save is null");
@@ -80,6 +112,32 @@ public class FeedbackServiceTest {
         assertNotNull(feedbackResponse.getSubmittedAt(), "Submission time is null");
     }
 
+    @Test
+    void createFeedback_throwsBeforeEnqueueing_whenIdempotencyKeyIsAlreadyClaimed() throws Exception {
+        FeedbackRequest validRequest = new FeedbackRequest();
+        validRequest.setMemberId(MOCK_MEMBER_ID);
+        validRequest.setProviderName(MOCK_PROVIDER_NAME);
+        validRequest.setRating(MOCK_RATING);
+        validRequest.setComment(MOCK_COMMENT);
+
+        Feedback savedFeedback = validRequest.toEntity();
+        savedFeedback.setId(UUID.randomUUID());
+        savedFeedback.setSubmittedAt(Instant.now());
+
+        when(feedbackRepository.saveAndFlush(any(Feedback.class))).thenReturn(savedFeedback);
+        when(idempotencyRecordRepository.insertIfAbsent(eq("taken-key"), eq(savedFeedback.getId()), any(Instant.class), eq("hash")))
+            .thenReturn(0);
+
+        try {
+            feedbackService.createFeedback(validRequest, "taken-key", "hash");
+            fail("Expected DuplicateIdempotencyKeyException to be thrown");
+        } catch (DuplicateIdempotencyKeyException ex) {
+            //The transaction rolls back, so nothing may have been queued for Kafka or counted
+            verify(feedbackOutbox, never()).enqueue(any(FeedbackSubmittedEvent.class));
+            verify(providerStatsService, never()).recordFeedback(anyList());
+        }
+    }
+
     // Creates a non-whitespace junk string of some length
     private static String createJunk(int length) {
         String junk = "";
@@ -99,6 +157,7 @@ public class FeedbackServiceTest {
                     ex.getMessage().startsWith("Field '" + fieldName + "' "),
                     "Wrong error message thrown; expected to start with: Field '" + fieldName + "' "
             );
+            assertEquals(fieldName, ex.getErrors().get(0).field());
         }
     }
 
@@ -153,8 +212,11 @@ public class FeedbackServiceTest {
         invalidRequest.setProviderName(MOCK_PROVIDER_NAME);
         invalidRequest.setRating(0);
         invalidRequest.setComment(MOCK_COMMENT);
+        Counter failures = meterRegistry.counter("feedback.validation.failures", "field", "rating");
+        double before = failures.count();
 
         assertValidationException(invalidRequest, "rating");
+        assertEquals(before + 1, failures.count());
     }
 
     @Test
@@ -189,24 +251,44 @@ public class FeedbackServiceTest {
         expectedFeedback.setComment(MOCK_COMMENT);
         expectedFeedback.setSubmittedAt(Instant.now());
 
-        when(feedbackRepository.findById(any(UUID.class)))
-            .thenReturn(Optional.of(expectedFeedback));
+        when(feedbackRepository.findResponseById(any(UUID.class)))
+            .thenReturn(Optional.of(FeedbackResponse.from(expectedFeedback)));
+
+        Optional<FeedbackResponse> feedback = feedbackService.findFeedbackById(expectedFeedback.getId());
+
+        assertTrue(feedback.isPresent());
+        verify(feedbackRepository).findResponseById(any(UUID.class));
+    }
+
+    @Test
+    void findFeedbackById_servesRepeatLookupsFromCache() throws Exception {
+        Feedback expectedFeedback = new Feedback();
+        expectedFeedback.setId(UUID.randomUUID());
+        expectedFeedback.setMemberId(MOCK_MEMBER_ID);
+        expectedFeedback.setProviderName(MOCK_PROVIDER_NAME);
+        expectedFeedback.setRating(MOCK_RATING);
+        expectedFeedback.setComment(MOCK_COMMENT);
+        expectedFeedback.setSubmittedAt(Instant.now());
+
+        when(feedbackRepository.findResponseById(expectedFeedback.getId()))
+            .thenReturn(Optional.of(FeedbackResponse.from(expectedFeedback)));
 
+        feedbackService.findFeedbackById(expectedFeedback.getId());
         Optional<FeedbackResponse> feedback = feedbackService.findFeedbackById(expectedFeedback.getId());
 
         assertTrue(feedback.isPresent());
-        verify(feedbackRepository).findById(any(UUID.class));
+        verify(feedbackRepository, times(1)).findResponseById(expectedFeedback.getId());
     }
 
     @Test
     void findFeedbackById_returnsEmptyOptional_whenFeedbackDoesNotExist() throws Exception {
-        when(feedbackRepository.findById(any(UUID.class)))
+        when(feedbackRepository.findResponseById(any(UUID.class)))
             .thenReturn(Optional.empty());
 
         Optional<FeedbackResponse> feedback = feedbackService.findFeedbackById(UUID.randomUUID());
 
         assertTrue(!feedback.isPresent());
-        verify(feedbackRepository).findById(any(UUID.class));
+        verify(feedbackRepository).findResponseById(any(UUID.class));
     }
 
     @Test
@@ -221,36 +303,250 @@ public class FeedbackServiceTest {
         mockFeedback.setSubmittedAt(Instant.now());
 
         //Arrange (Should return a non-empty list)
-        when(feedbackRepository.findByMemberId(MOCK_MEMBER_ID))
-                .thenReturn(List.of(mockFeedback));
+        when(feedbackRepository.findResponsesByMemberId(eq(MOCK_MEMBER_ID), any(Limit.class)))
+                .thenReturn(List.of(FeedbackResponse.from(mockFeedback)));
 
         //Act (call service)
-        List<FeedbackResponse> result = feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID);
+        FeedbackPage result = feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, null, null);
 
         //Assert(Verify 1 result, and that it matches)
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(mockFeedback.getRating(), result.get(0).getRating());
-        assertEquals(mockFeedback.getProviderName(), result.get(0).getProviderName());
-        assertEquals(mockFeedback.getComment(), result.get(0).getComment());
+        assertEquals(1, result.getItems().size());
+        assertEquals(mockFeedback.getRating(), result.getItems().get(0).getRating());
+        assertEquals(mockFeedback.getProviderName(), result.getItems().get(0).getProviderName());
+        assertEquals(mockFeedback.getComment(), result.getItems().get(0).getComment());
+        assertNull(result.getNextCursor(), "Single page should not have a next cursor");
 
-        verify(feedbackRepository).findByMemberId(MOCK_MEMBER_ID);
+        verify(feedbackRepository).findResponsesByMemberId(MOCK_MEMBER_ID, Limit.of(51));
     }
 
     @Test
     void findFeedbackByMemberId_returnsEmptyList_whenNoFeedbackExistsForMember() throws Exception {
         //Arrange (empty list)
-        when(feedbackRepository.findByMemberId(MOCK_MEMBER_ID))
+        when(feedbackRepository.findResponsesByMemberId(eq(MOCK_MEMBER_ID), any(Limit.class)))
                 .thenReturn(List.of());
 
         //Act (call service)
-        List<FeedbackResponse> result = feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID);
+        FeedbackPage result = feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, null, null);
 
         //Assert (verify result is empty)
         assertNotNull(result);
-        assertEquals(0, result.size());
-        verify(feedbackRepository).findByMemberId(MOCK_MEMBER_ID);
+        assertEquals(0, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void findFeedbackByMemberId_returnsCursorForNextPage_whenMoreRowsExist() throws Exception {
+        Feedback newer = new Feedback();
+        newer.setId(UUID.randomUUID());
+        newer.setMemberId(MOCK_MEMBER_ID);
+        newer.setSubmittedAt(Instant.parse("2025-01-02T00:00:00Z"));
+        Feedback older = new Feedback();
+        older.setId(UUID.randomUUID());
+        older.setMemberId(MOCK_MEMBER_ID);
+        older.setSubmittedAt(Instant.parse("2025-01-01T00:00:00Z"));
+
+        when(feedbackRepository.findResponsesByMemberId(MOCK_MEMBER_ID, Limit.of(2)))
+                .thenReturn(List.of(FeedbackResponse.from(newer), FeedbackResponse.from(older)));
+
+        FeedbackPage firstPage = feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, 1, null);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertEquals(newer.getId(), firstPage.getItems().get(0).getId());
+        assertNotNull(firstPage.getNextCursor());
+
+        //The cursor should point at the last row handed out, so the next query starts right after it
+        when(feedbackRepository.findResponsesByMemberIdAfter(MOCK_MEMBER_ID, newer.getSubmittedAt(), newer.getId(), Limit.of(2)))
+                .thenReturn(List.of(FeedbackResponse.from(older)));
+
+        FeedbackPage secondPage = feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, 1, firstPage.getNextCursor());
+
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(older.getId(), secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
     }
 
+    @Test
+    void findFeedbackByMemberId_throwsValidationException_whenCursorIsMalformed() throws Exception {
+        try {
+            feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, null, "not a cursor!");
+            fail("Expected ValidationException to be thrown");
+        } catch (ValidationException ex) {
+            assertTrue(ex.getMessage().startsWith("Parameter 'cursor' "));
+        }
+    }
+
+    @Test
+    void findFeedback_throwsValidationException_whenRatingRangeIsInverted() throws Exception {
+        try {
+            feedbackService.findFeedback(FeedbackFilter.of(null, 4, 2, null, null), null, null);
+            fail("Expected ValidationException to be thrown");
+        } catch (ValidationException ex) {
+            assertTrue(ex.getMessage().startsWith("Parameter 'minRating' "));
+        }
+    }
+
+    @Test
+    void findFeedback_throwsValidationException_whenWindowIsEmpty() throws Exception {
+        Instant now = Instant.now();
+        try {
+            feedbackService.findFeedback(FeedbackFilter.of(MOCK_PROVIDER_NAME, null, null, now, now), null, null);
+            fail("Expected ValidationException to be thrown");
+        } catch (ValidationException ex) {
+            assertTrue(ex.getMessage().startsWith("Parameter 'from' "));
+        }
+    }
+
+    @Test
+    void searchFeedback_returnsOffsetCursor_whenMoreMatchesExist() throws Exception {
+        Feedback best = new Feedback();
+        best.setId(UUID.randomUUID());
+        best.setSubmittedAt(Instant.now());
+        Feedback next = new Feedback();
+        next.setId(UUID.randomUUID());
+        next.setSubmittedAt(Instant.now());
+
+        when(feedbackRepository.search("rude staff", 2, 0)).thenReturn(List.of(FeedbackResponse.from(best), FeedbackResponse.from(next)));
 
+        FeedbackPage firstPage = feedbackService.searchFeedback("rude staff", 1, null);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertEquals(best.getId(), firstPage.getItems().get(0).getId());
+        assertEquals("1", firstPage.getNextCursor());
+
+        when(feedbackRepository.search("rude staff", 2, 1)).thenReturn(List.of(FeedbackResponse.from(next)));
+
+        FeedbackPage secondPage = feedbackService.searchFeedback("rude staff", 1, firstPage.getNextCursor());
+
+        assertEquals(next.getId(), secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void searchFeedback_throwsValidationException_whenQueryIsBlank() throws Exception {
+        try {
+            feedbackService.searchFeedback("  ", null, null);
+            fail("Expected ValidationException to be thrown");
+        } catch (ValidationException ex) {
+            assertTrue(ex.getMessage().startsWith("Parameter 'q' "));
+        }
+        verify(feedbackRepository, never()).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchFeedback_throwsValidationException_whenCursorIsMalformed() throws Exception {
+        for (String cursor : List.of("abc", "-5")) {
+            try {
+                feedbackService.searchFeedback("rude", null, cursor);
+                fail("Expected ValidationException to be thrown");
+            } catch (ValidationException ex) {
+                assertTrue(ex.getMessage().startsWith("Parameter 'cursor' "));
+            }
+        }
+    }
+
+    @Test
+    void searchFeedback_throwsValidationException_whenPagingPastResultCap() throws Exception {
+        try {
+            feedbackService.searchFeedback("rude", 50, "980");
+            fail("Expected ValidationException to be thrown");
+        } catch (ValidationException ex) {
+            assertTrue(ex.getMessage().contains("1000"));
+        }
+    }
+
+    @Test
+    void findFeedbackByMemberId_throwsValidationException_whenLimitIsOutOfRange() throws Exception {
+        try {
+            feedbackService.findFeedbackByMemberId(MOCK_MEMBER_ID, 501, null);
+            fail("Expected ValidationException to be thrown");
+        } catch (ValidationException ex) {
+            assertTrue(ex.getMessage().startsWith("Parameter 'limit' "));
+        }
+    }
+
+    @Test
+    void createFeedbackBatch_savesValidEntriesAndRejectsInvalidOnes() throws Exception {
+        FeedbackRequest validRequest = new FeedbackRequest();
+        validRequest.setMemberId(MOCK_MEMBER_ID);
+        validRequest.setProviderName(MOCK_PROVIDER_NAME);
+        validRequest.setRating(MOCK_RATING);
+        validRequest.setComment(MOCK_COMMENT);
+
+        FeedbackRequest invalidRequest = new FeedbackRequest();
+        invalidRequest.setMemberId(MOCK_MEMBER_ID);
+        invalidRequest.setProviderName(MOCK_PROVIDER_NAME);
+        invalidRequest.setRating(0);
+
+        //Hand back whatever was passed in, with the DB-generated fields filled
+        when(feedbackRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Feedback> saved = new ArrayList<>(invocation.<List<Feedback>>getArgument(0));
+            for (Feedback feedback : saved) {
+                feedback.setId(UUID.randomUUID());
+                feedback.setSubmittedAt(Instant.now());
+            }
+            return saved;
+        });
+
+        BatchFeedbackResponse response = feedbackService.createFeedbackBatch(List.of(invalidRequest, validRequest, validRequest));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getRejected());
+        assertEquals(BatchFeedbackResult.Status.REJECTED, response.getResults().get(0).getStatus());
+        assertTrue(response.getResults().get(0).getError().startsWith("Field 'rating' "));
+        assertEquals(BatchFeedbackResult.Status.CREATED, response.getResults().get(1).getStatus());
+        assertEquals(1, response.getResults().get(1).getIndex());
+        assertNotNull(response.getResults().get(1).getFeedback().getId());
+
+        verify(feedbackRepository).saveAll(anyList());
+        verify(feedbackOutbox).enqueueAll(anyList());
+        verify(providerStatsService).recordFeedback(anyList());
+        //Both rows belong to one member, whose version moves once
+        verify(memberFeedbackVersionRepository).bump(MOCK_MEMBER_ID);
+    }
+
+    @Test
+    void createFeedbackBatch_rejectsOnlyTheItemWithoutComment() throws Exception {
+        FeedbackRequest validRequest = new FeedbackRequest();
+        validRequest.setMemberId(MOCK_MEMBER_ID);
+        validRequest.setProviderName(MOCK_PROVIDER_NAME);
+        validRequest.setRating(MOCK_RATING);
+        validRequest.setComment(MOCK_COMMENT);
+
+        FeedbackRequest noComment = new FeedbackRequest();
+        noComment.setMemberId(MOCK_MEMBER_ID);
+        noComment.setProviderName(MOCK_PROVIDER_NAME);
+        noComment.setRating(MOCK_RATING);
+
+        when(feedbackRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Feedback> saved = new ArrayList<>(invocation.<List<Feedback>>getArgument(0));
+            for (Feedback feedback : saved) {
+                feedback.setId(UUID.randomUUID());
+                feedback.setSubmittedAt(Instant.now());
+            }
+            return saved;
+        });
+
+        BatchFeedbackResponse response = feedbackService.createFeedbackBatch(List.of(validRequest, noComment, validRequest));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getRejected());
+        assertEquals(BatchFeedbackResult.Status.REJECTED, response.getResults().get(1).getStatus());
+        assertEquals("Field 'comment' is required", response.getResults().get(1).getError());
+        //Only the items with a comment reach the insert, which the NOT NULL column would otherwise fail as a whole
+        verify(feedbackRepository).saveAll(argThat(entities -> ((List<Feedback>) entities).size() == 2
+                && ((List<Feedback>) entities).stream().allMatch(feedback -> feedback.getComment() != null)));
+    }
+
+    @Test
+    void createFeedbackBatch_throwsValidationException_whenBatchIsEmpty() throws Exception {
+        try {
+            feedbackService.createFeedbackBatch(List.of());
+            fail("Expected ValidationException to be thrown");
+        } catch (ValidationException ex) {
+            assertTrue(ex.getMessage().startsWith("Batch must contain"));
+        }
+
+        verify(feedbackRepository, never()).saveAll(anyList());
+    }
 }
@@ -0,0 +1,84 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+// Relay off: this test only needs the commit, not the Kafka hand-off
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "feedback.outbox.relay.enabled=false")
+public class FeedbackStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private FeedbackStreamService feedbackStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static FeedbackRequest createRequest(String memberId) {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId(memberId);
+        request.setProviderName("Dr. Live Updates");
+        request.setRating(5);
+        request.setComment("Saw this the moment it was saved");
+        return request;
+    }
+
+    @Test
+    void stream_pushesCommittedFeedback_forSubscribedMemberOnly() throws Exception {
+        String memberId = "m-" + UUID.randomUUID().toString().substring(0, 8);
+        int subscribersBefore = feedbackStreamService.subscriberCount();
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/feedback/stream?memberId=" + memberId))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (feedbackStreamService.subscriberCount() == subscribersBefore && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        feedbackService.createFeedback(createRequest("m-someone-else"));
+        FeedbackResponse created = feedbackService.createFeedback(createRequest(memberId));
+
+        //Not closed here: closing drains the (endless) body; the stream ends when the context shuts down
+        BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null && !line.startsWith("data:")) {
+            // skip event/id lines
+        }
+        assertTrue(line != null, "Stream closed before any feedback arrived");
+        FeedbackResponse received = objectMapper.readValue(line.substring("data:".length()), FeedbackResponse.class);
+        assertEquals(created.getId(), received.getId());
+        assertEquals(memberId, received.getMemberId());
+    }
+}
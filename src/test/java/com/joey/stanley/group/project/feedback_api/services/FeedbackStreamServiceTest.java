@@ -0,0 +1,94 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class FeedbackStreamServiceTest {
+
+    private static FeedbackResponse createResponse(String memberId, String providerName) {
+        Feedback feedback = new Feedback();
+        feedback.setId(UUID.randomUUID());
+        feedback.setMemberId(memberId);
+        feedback.setProviderName(providerName);
+        feedback.setRating(4);
+        feedback.setSubmittedAt(Instant.now());
+        return FeedbackResponse.from(feedback);
+    }
+
+    private static FeedbackStreamService createService(SimpleMeterRegistry meterRegistry, int maxSubscribers) {
+        return new FeedbackStreamService(new SyncTaskExecutor(), meterRegistry, 2, maxSubscribers,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void subscriberBuffer_dropsOldestEntry_whenFull() {
+        FeedbackStreamService.Subscriber subscriber =
+                new FeedbackStreamService.Subscriber(new SseEmitter(), null, null, 2);
+        FeedbackResponse first = createResponse("m-1", "Dr. A");
+        FeedbackResponse second = createResponse("m-1", "Dr. A");
+        FeedbackResponse third = createResponse("m-1", "Dr. A");
+
+        assertFalse(subscriber.offer(first));
+        assertFalse(subscriber.offer(second));
+        assertTrue(subscriber.offer(third));
+
+        assertEquals(second.getId(), subscriber.buffer.poll().getId());
+        assertEquals(third.getId(), subscriber.buffer.poll().getId());
+    }
+
+    @Test
+    void subscriber_matchesOnlyItsFilters() {
+        FeedbackStreamService.Subscriber both =
+                new FeedbackStreamService.Subscriber(new SseEmitter(), "m-1", "Dr. A", 2);
+        FeedbackStreamService.Subscriber provider =
+                new FeedbackStreamService.Subscriber(new SseEmitter(), null, "Dr. A", 2);
+
+        assertTrue(both.matches(createResponse("m-1", "Dr. A")));
+        assertFalse(both.matches(createResponse("m-1", "Dr. B")));
+        assertTrue(provider.matches(createResponse("m-2", "Dr. A")));
+        assertFalse(provider.matches(createResponse("m-2", "Dr. B")));
+    }
+
+    @Test
+    void subscribe_throwsServiceBusyException_whenNodeIsAtCapacity() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FeedbackStreamService service = createService(meterRegistry, 1);
+
+        assertNotNull(service.subscribe("m-1", null));
+        ServiceBusyException ex = assertThrows(ServiceBusyException.class, () -> service.subscribe("m-2", null));
+
+        assertEquals(Duration.ofSeconds(5), ex.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("feedback.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void onFeedbackCreated_countsDroppedEntries_forSlowSubscriber() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        //An executor that never runs the drain, so the buffer stays full like a stalled client's
+        FeedbackStreamService service = new FeedbackStreamService(task -> { }, meterRegistry, 2, 10,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+        service.subscribe(null, "Dr. Popular");
+
+        for (int i = 0; i < 5; i++) {
+            service.onFeedbackCreated(new FeedbackCreatedEvent(createResponse("m-" + i, "Dr. Popular")));
+        }
+        service.onFeedbackCreated(new FeedbackCreatedEvent(createResponse("m-9", "Dr. Elsewhere")));
+
+        assertEquals(3.0, meterRegistry.get("feedback.stream.dropped").counter().count());
+    }
+}
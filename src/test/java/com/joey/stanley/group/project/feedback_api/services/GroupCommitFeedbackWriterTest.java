@@ -0,0 +1,182 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+public class GroupCommitFeedbackWriterTest {
+
+    @Mock
+    private FeedbackService feedbackService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GroupCommitFeedbackWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    private GroupCommitFeedbackWriter writer(int queueCapacity, int maxBatchSize, Duration maxWait) {
+        writer = new GroupCommitFeedbackWriter(feedbackService, meterRegistry, queueCapacity, maxBatchSize, maxWait, Duration.ofSeconds(2));
+        writer.start();
+        return writer;
+    }
+
+    private static FeedbackRequest request(String comment) {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId("m-1337");
+        request.setProviderName("Dr. Batch");
+        request.setRating(4);
+        request.setComment(comment);
+        return request;
+    }
+
+    private static FeedbackResponse responseFor(FeedbackRequest request) {
+        Feedback feedback = request.toEntity();
+        feedback.setId(UUID.randomUUID());
+        feedback.setSubmittedAt(Instant.now());
+        return FeedbackResponse.from(feedback);
+    }
+
+    private void answerEveryRow() {
+        when(feedbackService.createValidatedFeedback(anyList(), anyList())).thenAnswer(invocation -> {
+            List<FeedbackRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(GroupCommitFeedbackWriterTest::responseFor).toList();
+        });
+    }
+
+    @Test
+    void submit_storesRequestsArrivingTogetherInOneTransaction() throws Exception {
+        answerEveryRow();
+        writer(100, 3, Duration.ofSeconds(1));
+
+        List<CompletableFuture<FeedbackResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(writer.submit(request("row " + i)));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("row " + i, results.get(i).get(5, TimeUnit.SECONDS).getComment());
+        }
+        verify(feedbackService, times(1)).createValidatedFeedback(anyList(), anyList());
+        assertEquals(1, meterRegistry.get("feedback.group-commit.batch.size").summary().count());
+        assertEquals(3.0, meterRegistry.get("feedback.group-commit.batch.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("feedback.group-commit.commit").timer().count());
+    }
+
+    @Test
+    void submit_retriesRowsOneByOne_whenTheBatchFails() throws Exception {
+        FeedbackRequest bad = request("bad");
+        when(feedbackService.createValidatedFeedback(anyList(), anyList())).thenAnswer(invocation -> {
+            List<FeedbackRequest> requests = invocation.getArgument(0);
+            if (requests.contains(bad)) {
+                throw new DataIntegrityViolationException("rejected by the database");
+            }
+            return requests.stream().map(GroupCommitFeedbackWriterTest::responseFor).toList();
+        });
+        writer(100, 2, Duration.ofSeconds(1));
+
+        CompletableFuture<FeedbackResponse> good = writer.submit(request("good"));
+        CompletableFuture<FeedbackResponse> failed = writer.submit(bad);
+
+        assertEquals("good", good.get(5, TimeUnit.SECONDS).getComment());
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof DataIntegrityViolationException);
+        verify(feedbackService, times(3)).createValidatedFeedback(anyList(), anyList());
+    }
+
+    @Test
+    void submit_failsTheBatch_andKeepsWriting_whenTheCommitThrowsAnError() throws Exception {
+        when(feedbackService.createValidatedFeedback(anyList(), anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenAnswer(invocation -> {
+                    List<FeedbackRequest> requests = invocation.getArgument(0);
+                    return requests.stream().map(GroupCommitFeedbackWriterTest::responseFor).toList();
+                });
+        writer(100, 1, Duration.ZERO);
+
+        CompletableFuture<FeedbackResponse> failed = writer.submit(request("failed"));
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof StackOverflowError);
+
+        assertEquals("next", writer.submit(request("next")).get(5, TimeUnit.SECONDS).getComment());
+    }
+
+    @Test
+    void submit_throwsServiceBusyException_whenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(feedbackService.createValidatedFeedback(anyList(), anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<FeedbackRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(GroupCommitFeedbackWriterTest::responseFor).toList();
+        });
+        writer(1, 1, Duration.ZERO);
+
+        CompletableFuture<FeedbackResponse> committing = writer.submit(request("committing"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<FeedbackResponse> queued = writer.submit(request("queued"));
+        assertEquals(1.0, meterRegistry.get("feedback.group-commit.queue.depth").gauge().value());
+
+        ServiceBusyException ex = assertThrows(ServiceBusyException.class, () -> writer.submit(request("turned away")));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("feedback.group-commit.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("committing", committing.get(5, TimeUnit.SECONDS).getComment());
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS).getComment());
+    }
+
+    @Test
+    void submit_rejectsRequests_untilStarted() throws Exception {
+        writer = new GroupCommitFeedbackWriter(feedbackService, meterRegistry, 100, 10, Duration.ZERO, Duration.ofSeconds(2));
+
+        assertThrows(ServiceBusyException.class, () -> writer.submit(request("too early")));
+        assertFalse(writer.isRunning());
+    }
+
+    @Test
+    void stop_storesWhatIsQueued_andRejectsNewRequests() throws Exception {
+        answerEveryRow();
+        writer(100, 10, Duration.ofMillis(50));
+
+        CompletableFuture<FeedbackResponse> first = writer.submit(request("first"));
+        CompletableFuture<FeedbackResponse> second = writer.submit(request("second"));
+        writer.stop();
+
+        assertTrue(first.isDone() && second.isDone());
+        assertEquals("second", second.get().getComment());
+        assertThrows(ServiceBusyException.class, () -> writer.submit(request("too late")));
+    }
+}
@@ -0,0 +1,184 @@
+package com.joey.stanley.group.project.feedback_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackRequest;
+import com.joey.stanley.group.project.feedback_api.dtos.FeedbackResponse;
+import com.joey.stanley.group.project.feedback_api.entity.Feedback;
+import com.joey.stanley.group.project.feedback_api.entity.IdempotencyRecord;
+import com.joey.stanley.group.project.feedback_api.repository.IdempotencyRecordRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@SpringBootTest
+public class IdempotencyServiceTest {
+
+    @MockitoBean
+    private FeedbackService feedbackService;
+
+    @MockitoBean
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    private static FeedbackRequest createValidFeedbackRequest() {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setMemberId("m-1337");
+        request.setProviderName("Dr. Once Only");
+        request.setRating(4);
+        request.setComment("Said it once, meant it once");
+        return request;
+    }
+
+    private static FeedbackResponse createValidResponse(FeedbackRequest request) {
+        Feedback feedback = request.toEntity();
+        feedback.setId(UUID.randomUUID());
+        feedback.setSubmittedAt(Instant.now());
+        return FeedbackResponse.from(feedback);
+    }
+
+    private static IdempotencyRecord createRecord(String idempotencyKey, UUID feedbackId, FeedbackRequest request) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(idempotencyKey);
+        record.setFeedbackId(feedbackId);
+        record.setCreatedAt(Instant.now());
+        record.setRequestHash(IdempotencyService.requestHash(request));
+        return record;
+    }
+
+    @Test
+    void createFeedback_createsOnceThenReplaysFromMemory() throws Exception {
+        String key = UUID.randomUUID().toString();
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse created = createValidResponse(request);
+
+        when(idempotencyRecordRepository.findById(key)).thenReturn(Optional.empty());
+        when(feedbackService.createFeedback(eq(request), eq(key), anyString())).thenReturn(created);
+
+        IdempotentFeedback first = idempotencyService.createFeedback(key, request);
+        IdempotentFeedback retry = idempotencyService.createFeedback(key, request);
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(created.getId(), retry.feedback().getId());
+        verify(feedbackService, times(1)).createFeedback(eq(request), eq(key), anyString());
+        //Only the first call had to look in the table
+        verify(idempotencyRecordRepository, times(1)).findById(key);
+    }
+
+    @Test
+    void createFeedback_replaysFromTable_whenKeyIsNotInMemory() throws Exception {
+        String key = UUID.randomUUID().toString();
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse original = createValidResponse(request);
+
+        when(idempotencyRecordRepository.findById(key)).thenReturn(Optional.of(createRecord(key, original.getId(), request)));
+        when(feedbackService.findFeedbackById(original.getId())).thenReturn(Optional.of(original));
+
+        IdempotentFeedback result = idempotencyService.createFeedback(key, request);
+
+        assertTrue(result.replayed());
+        assertEquals(original.getId(), result.feedback().getId());
+        verify(feedbackService, never()).createFeedback(any(FeedbackRequest.class), anyString(), anyString());
+    }
+
+    @Test
+    void createFeedback_replaysWinner_whenConcurrentRequestClaimsKeyFirst() throws Exception {
+        String key = UUID.randomUUID().toString();
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse winner = createValidResponse(request);
+
+        //Nothing stored when we first look, but the winner's record is there once our insert loses
+        when(idempotencyRecordRepository.findById(key))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(createRecord(key, winner.getId(), request)));
+        when(feedbackService.createFeedback(eq(request), eq(key), anyString())).thenThrow(new DuplicateIdempotencyKeyException(key));
+        when(feedbackService.findFeedbackById(winner.getId())).thenReturn(Optional.of(winner));
+
+        IdempotentFeedback result = idempotencyService.createFeedback(key, request);
+
+        assertTrue(result.replayed());
+        assertEquals(winner.getId(), result.feedback().getId());
+    }
+
+    @Test
+    void createFeedback_refusesReusedKey_whenBodyDiffersFromTheOriginal() throws Exception {
+        String key = UUID.randomUUID().toString();
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse created = createValidResponse(request);
+        FeedbackRequest different = createValidFeedbackRequest();
+        different.setRating(1);
+
+        when(idempotencyRecordRepository.findById(key)).thenReturn(Optional.empty());
+        when(feedbackService.createFeedback(eq(request), eq(key), anyString())).thenReturn(created);
+
+        idempotencyService.createFeedback(key, request);
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> idempotencyService.createFeedback(key, different));
+        verify(feedbackService, times(1)).createFeedback(any(FeedbackRequest.class), eq(key), anyString());
+    }
+
+    @Test
+    void createFeedback_refusesReusedKeyFromTable_whenBodyDiffersFromTheOriginal() throws Exception {
+        String key = UUID.randomUUID().toString();
+        FeedbackRequest request = createValidFeedbackRequest();
+        FeedbackResponse original = createValidResponse(request);
+        FeedbackRequest different = createValidFeedbackRequest();
+        different.setComment(request.getComment() + "!");
+
+        when(idempotencyRecordRepository.findById(key)).thenReturn(Optional.of(createRecord(key, original.getId(), request)));
+        when(feedbackService.findFeedbackById(original.getId())).thenReturn(Optional.of(original));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> idempotencyService.createFeedback(key, different));
+    }
+
+    @Test
+    void requestHash_differs_whenFieldBoundariesMove() {
+        FeedbackRequest first = createValidFeedbackRequest();
+        first.setMemberId("m-1");
+        first.setProviderName("2Dr");
+        FeedbackRequest second = createValidFeedbackRequest();
+        second.setMemberId("m-12");
+        second.setProviderName("Dr");
+
+        assertEquals(IdempotencyService.requestHash(first), IdempotencyService.requestHash(createCopy(first)));
+        assertNotEquals(IdempotencyService.requestHash(first), IdempotencyService.requestHash(second));
+    }
+
+    private static FeedbackRequest createCopy(FeedbackRequest request) {
+        FeedbackRequest copy = new FeedbackRequest();
+        copy.setMemberId(request.getMemberId());
+        copy.setProviderName(request.getProviderName());
+        copy.setRating(request.getRating());
+        copy.setComment(request.getComment());
+        return copy;
+    }
+
+    @Test
+    void createFeedback_throwsValidationException_whenKeyIsTooLong() throws Exception {
+        String key = "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1);
+
+        assertThrows(ValidationException.class,
+                () -> idempotencyService.createFeedback(key, createValidFeedbackRequest()));
+        verify(feedbackService, never()).createFeedback(any(FeedbackRequest.class), eq(key), any());
+    }
+}